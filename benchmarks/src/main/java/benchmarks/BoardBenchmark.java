@@ -0,0 +1,74 @@
+package benchmarks;
+
+import chess.ChessBoard;
+import chess.ChessGame;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ChessBoard.resetBoard, copy, equals and hashCode. equals compares each corpus board with an equal board built
+ * separately, so it can't take an identity shortcut
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark {
+
+    private final ChessBoard board = new ChessBoard();
+    private ChessBoard[] boards;
+    private ChessBoard[] copies;
+
+    @Setup
+    public void setUp() {
+        List<ChessGame> corpus = Positions.corpus();
+        List<ChessGame> again = Positions.corpus();
+        boards = new ChessBoard[corpus.size()];
+        copies = new ChessBoard[corpus.size()];
+        for (int i = 0; i < boards.length; i++) {
+            boards[i] = corpus.get(i).getBoard();
+            copies[i] = again.get(i).getBoard();
+        }
+    }
+
+    @Benchmark
+    public ChessBoard resetBoard() {
+        board.resetBoard();
+        return board;
+    }
+
+    @Benchmark
+    public void copy(Blackhole blackhole) {
+        for (ChessBoard chessBoard : boards) {
+            blackhole.consume(chessBoard.copy());
+        }
+    }
+
+    @Benchmark
+    public void equalBoards(Blackhole blackhole) {
+        for (int i = 0; i < boards.length; i++) {
+            blackhole.consume(boards[i].equals(copies[i]));
+        }
+    }
+
+    @Benchmark
+    public void hashCodes(Blackhole blackhole) {
+        for (ChessBoard chessBoard : boards) {
+            blackhole.consume(chessBoard.hashCode());
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package benchmarks;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.ChessPosition;
+import chess.InvalidMoveException;
+import chess.MoveNotation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ChessGame.validMoves, allValidMoves, makeMove and isInCheckmate over the corpus
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameBenchmark {
+
+    private List<ChessGame> corpus;
+    private ChessMove[][] games;
+
+    @Setup
+    public void setUp() {
+        corpus = Positions.corpus();
+        games = new ChessMove[Positions.GAMES.length][];
+        for (int i = 0; i < games.length; i++) {
+            String[] moves = Positions.GAMES[i].split(" ");
+            games[i] = new ChessMove[moves.length];
+            for (int j = 0; j < moves.length; j++) {
+                games[i][j] = MoveNotation.parseUci(moves[j]);
+            }
+        }
+    }
+
+    /**
+     * validMoves for every occupied square, the way a client highlights moves. After the first iteration
+     * every call is answered from the cached moves
+     */
+    @Benchmark
+    public void validMoves(Blackhole blackhole) {
+        for (ChessGame game : corpus) {
+            for (int row = 1; row <= 8; row++) {
+                for (int col = 1; col <= 8; col++) {
+                    ChessPosition position = ChessPosition.of(row, col);
+                    if (game.getBoard().getPiece(position) != null) {
+                        blackhole.consume(game.validMoves(position));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * validMoves for every occupied square with nothing cached, the way the first question about a new
+     * position is answered. Handing each game its own board again forgets the cached moves without
+     * timing a board copy
+     */
+    @Benchmark
+    public void validMovesCold(Blackhole blackhole) {
+        for (ChessGame game : corpus) {
+            game.setBoard(game.getBoard());
+            for (int row = 1; row <= 8; row++) {
+                for (int col = 1; col <= 8; col++) {
+                    ChessPosition position = ChessPosition.of(row, col);
+                    if (game.getBoard().getPiece(position) != null) {
+                        blackhole.consume(game.validMoves(position));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * allValidMoves for the side to move, the whole set a bot or the server would ask for
+     */
+    @Benchmark
+    public void allValidMoves(Blackhole blackhole) {
+        for (ChessGame game : corpus) {
+            blackhole.consume(game.allValidMoves(game.getTeamTurn()));
+        }
+    }
+
+    /**
+     * Plays every corpus game from the starting position. Includes building one new ChessGame per game
+     */
+    @Benchmark
+    public void makeMove(Blackhole blackhole) throws InvalidMoveException {
+        for (ChessMove[] moves : games) {
+            ChessGame game = new ChessGame();
+            for (ChessMove move : moves) {
+                game.makeMove(move);
+            }
+            blackhole.consume(game);
+        }
+    }
+
+    /**
+     * isInCheckmate for the side to move. After the first iteration this is answered from the cached status
+     */
+    @Benchmark
+    public void isInCheckmate(Blackhole blackhole) {
+        for (ChessGame game : corpus) {
+            blackhole.consume(game.isInCheckmate(game.getTeamTurn()));
+        }
+    }
+
+    /**
+     * isInCheckmate for the side to move with the cached status and moves forgotten first, so every call
+     * looks for check and a legal move again
+     */
+    @Benchmark
+    public void isInCheckmateCold(Blackhole blackhole) {
+        for (ChessGame game : corpus) {
+            game.setBoard(game.getBoard());
+            blackhole.consume(game.isInCheckmate(game.getTeamTurn()));
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package benchmarks;
+
+import chess.ChessBoard;
+import chess.ChessGame;
+import chess.ChessPiece;
+import chess.ChessPosition;
+import chess.MoveList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ChessPiece.pieceMoves for one piece type, called once for every piece of that type in the corpus
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PieceMovesBenchmark {
+
+    @Param({"KING", "QUEEN", "BISHOP", "KNIGHT", "ROOK", "PAWN"})
+    public ChessPiece.PieceType type;
+
+    private final List<ChessBoard> boards = new ArrayList<>();
+    private final List<ChessPosition> positions = new ArrayList<>();
+    private final List<ChessPiece> pieces = new ArrayList<>();
+    private final MoveList moves = new MoveList();
+
+    @Setup
+    public void setUp() {
+        for (ChessGame game : Positions.corpus()) {
+            ChessBoard board = game.getBoard();
+            for (int row = 1; row <= 8; row++) {
+                for (int col = 1; col <= 8; col++) {
+                    ChessPosition position = ChessPosition.of(row, col);
+                    ChessPiece piece = board.getPiece(position);
+                    if (piece != null && piece.getPieceType() == type) {
+                        boards.add(board);
+                        positions.add(position);
+                        pieces.add(piece);
+                    }
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void pieceMoves(Blackhole blackhole) {
+        for (int i = 0; i < pieces.size(); i++) {
+            blackhole.consume(pieces.get(i).pieceMoves(boards.get(i), positions.get(i)));
+        }
+    }
+
+    @Benchmark
+    public int pieceMovesIntoList() {
+        int total = 0;
+        for (int i = 0; i < pieces.size(); i++) {
+            moves.clear();
+            pieces.get(i).pieceMoves(boards.get(i), positions.get(i), moves);
+            total += moves.size();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,103 @@
+package benchmarks;
+
+import chess.ChessBoard;
+import chess.ChessGame;
+import chess.ChessPiece;
+import chess.ChessPosition;
+import chess.InvalidMoveException;
+import chess.MoveNotation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The fixed corpus every benchmark runs over: positions taken every few moves from a handful of
+ * well-known games, plus a couple of endgames. Built only through the public ChessGame API
+ */
+final class Positions {
+
+    // Games in coordinate notation (start square, end square, optional promotion letter)
+    static final String[] GAMES = {
+            // Ruy Lopez, closed
+            "e2e4 e7e5 g1f3 b8c6 f1b5 a7a6 b5a4 g8f6 e1g1 f8e7 f1e1 b7b5 a4b3 d7d6 c2c3 e8g8 h2h3 c6a5 b3c2 c7c5 "
+                    + "d2d4 d8c7 b1d2 c5d4 c3d4 a5c6 d2b3 a6a5 c1e3 a5a4 b3d2 c8d7",
+            // Sicilian Najdorf, English attack
+            "e2e4 c7c5 g1f3 d7d6 d2d4 c5d4 f3d4 g8f6 b1c3 a7a6 c1e3 e7e5 d4b3 c8e6 f2f3 f8e7 d1d2 e8g8 e1c1 b8d7 "
+                    + "g2g4 b7b5 g4g5 b5b4 c3e2 f6e8 h2h4 a6a5",
+            // Queen's Gambit Declined, orthodox
+            "d2d4 d7d5 c2c4 e7e6 b1c3 g8f6 c1g5 f8e7 e2e3 e8g8 g1f3 b8d7 a1c1 c7c6 f1d3 d5c4 d3c4 f6d5 g5e7 d8e7 "
+                    + "e1g1 d5c3 c1c3 e6e5",
+            // Italian game with an early queen trade
+            "e2e4 e7e5 g1f3 b8c6 f1c4 f8c5 c2c3 g8f6 d2d4 e5d4 c3d4 c5b4 b1c3 f6e4 e1g1 e4c3 b2c3 b4c3 d1b3 d7d5 "
+                    + "c4d5 e8g8 d5f7 g8h8 b3c3 c8g4",
+    };
+
+    // Take a snapshot every this many plies
+    private static final int STRIDE = 4;
+
+    private Positions() {
+    }
+
+    /**
+     * @return a fresh copy of every position in the corpus
+     */
+    static List<ChessGame> corpus() {
+        List<ChessGame> games = new ArrayList<>();
+        for (String game : GAMES) {
+            String[] moves = game.split(" ");
+            for (int ply = 0; ply <= moves.length; ply += STRIDE) {
+                games.add(play(game, ply));
+            }
+        }
+        games.add(endgame(ChessGame.TeamColor.WHITE, new String[]{"Kg1", "Rd1", "Pf2", "Pg2", "Ph2"},
+                new String[]{"kg8", "rc8", "pa5", "pf7", "pg7"}));
+        games.add(endgame(ChessGame.TeamColor.BLACK, new String[]{"Ke4", "Qd8"}, new String[]{"kc3", "pb2"}));
+        return games;
+    }
+
+    /**
+     * @return a new game with the first plies moves of the given game played
+     */
+    static ChessGame play(String game, int plies) {
+        ChessGame chessGame = new ChessGame();
+        String[] moves = game.split(" ");
+        for (int i = 0; i < plies && i < moves.length; i++) {
+            try {
+                chessGame.makeMove(MoveNotation.parseUci(moves[i]));
+            } catch (InvalidMoveException e) {
+                throw new IllegalStateException("Corpus move " + moves[i] + " is illegal", e);
+            }
+        }
+        return chessGame;
+    }
+
+    private static ChessPosition square(String text, int index) {
+        return ChessPosition.of(text.charAt(index + 1) - '0', text.charAt(index) - 'a' + 1);
+    }
+
+    /**
+     * Builds a position from pieces written as a letter (uppercase white, lowercase black) and a square, e.g. "Kg1"
+     */
+    private static ChessGame endgame(ChessGame.TeamColor turn, String[] white, String[] black) {
+        ChessBoard board = new ChessBoard();
+        for (String[] pieces : new String[][]{white, black}) {
+            for (String piece : pieces) {
+                ChessGame.TeamColor color = Character.isUpperCase(piece.charAt(0))
+                        ? ChessGame.TeamColor.WHITE : ChessGame.TeamColor.BLACK;
+                ChessPiece.PieceType type = switch (Character.toLowerCase(piece.charAt(0))) {
+                    case 'k' -> ChessPiece.PieceType.KING;
+                    case 'q' -> ChessPiece.PieceType.QUEEN;
+                    case 'r' -> ChessPiece.PieceType.ROOK;
+                    case 'b' -> ChessPiece.PieceType.BISHOP;
+                    case 'n' -> ChessPiece.PieceType.KNIGHT;
+                    default -> ChessPiece.PieceType.PAWN;
+                };
+                board.addPiece(square(piece, 1), ChessPiece.of(color, type));
+            }
+        }
+        ChessGame game = new ChessGame();
+        game.setBoard(board);
+        game.setTeamTurn(turn);
+        return game;
+    }
+}
@@ -1,7 +1,10 @@
 package chess; // This tells the compiler that this file belongs to a folder named chess
 
+import com.google.gson.annotations.JsonAdapter;
+
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Objects;
+import java.util.List;
 
 /**
  * A chessboard that can hold and rearrange chess pieces.
@@ -9,9 +12,60 @@ import java.util.Objects;
  * Note: You can add to this class, but you may not alter
  * signature of the existing methods.
  */
+@JsonAdapter(ChessBoardAdapter.class)
 public class ChessBoard { // Chessboard class that is in charge of adding pieces, getting a chess piece, and resetting the board
 
-    ChessPiece[][] squares = new ChessPiece[8][8]; // a new ChessPiece class object called squares is created with a 8x8 grid size
+    // One 64-bit board per (color, type) pair, indexed by pieceIndex(). Bit 0 is row 1 column 1, bit 63 is row 8 column 8
+    final long[] pieceBoards = new long[12];
+    // Everything from here to the castling rights is worked out from pieceBoards, so it is transient and
+    // ChessBoardAdapter rebuilds it through addPiece instead of reading it from JSON
+    // Every square holding a WHITE or BLACK piece, indexed by TeamColor.ordinal()
+    final transient long[] colorBoards = new long[2];
+    // Every square holding any piece
+    transient long occupied;
+    // The same pieces again, one byte per square: pieceIndex() + 1, or 0 for an empty square. Answers
+    // "what is on this square" with one load instead of a search through the bitboards
+    final transient byte[] mailbox = new byte[64];
+    // Squares of each team's pieces in no particular order: WHITE's in 0-63, BLACK's in 64-127, the first
+    // pieceCounts[color] of each half in use. Taking a piece out searches its team's list, which is at most
+    // 16 entries in a real game, instead of keeping a third per-square array just to find its slot
+    final transient byte[] pieceSquares = new byte[128];
+    final transient int[] pieceCounts = new int[2];
+
+    // Castling rights still available, a combination of the *_CASTLING bits below. A right is only usable while the
+    // king and rook are still standing on their starting squares, so a fresh board starts with every right set
+    static final int WHITE_KINGSIDE_CASTLING = 1;
+    static final int WHITE_QUEENSIDE_CASTLING = 2;
+    static final int BLACK_KINGSIDE_CASTLING = 4;
+    static final int BLACK_QUEENSIDE_CASTLING = 8;
+    static final int ALL_CASTLING = 15;
+    int castlingRights = ALL_CASTLING;
+    // Square a pawn skipped over with a double step on the last move, or -1. An enemy pawn can capture onto it
+    int enPassantSquare = -1;
+
+    // Zobrist key (see Zobrist) of just the pieces on the board, kept up to date by every change to a square
+    private transient long pieceKey;
+
+    // One packed undo record per move made with makeMove, see makeMove for the layout. Transient like
+    // ChessGame's journal, so a board read back from JSON has no moves to unmake. Created by the first
+    // makeMove, so copies and snapshots that are never played on don't carry one
+    private transient int[] undoStack;
+    private transient int undoSize;
+
+    // Castling rights that survive a move touching each square. Anything moving from or onto a king's
+    // or rook's starting square takes away the rights that depend on it
+    private static final int[] CASTLING_MASK = new int[64];
+
+    static {
+        Arrays.fill(CASTLING_MASK, ALL_CASTLING);
+        CASTLING_MASK[4] &= ~(WHITE_KINGSIDE_CASTLING | WHITE_QUEENSIDE_CASTLING); // e1
+        CASTLING_MASK[7] &= ~WHITE_KINGSIDE_CASTLING; // h1
+        CASTLING_MASK[0] &= ~WHITE_QUEENSIDE_CASTLING; // a1
+        CASTLING_MASK[60] &= ~(BLACK_KINGSIDE_CASTLING | BLACK_QUEENSIDE_CASTLING); // e8
+        CASTLING_MASK[63] &= ~BLACK_KINGSIDE_CASTLING; // h8
+        CASTLING_MASK[56] &= ~BLACK_QUEENSIDE_CASTLING; // a8
+    }
+
     public ChessBoard() { // The constructor that is run when I type new ChessBoard()
         
     }
@@ -23,7 +77,11 @@ public class ChessBoard { // Chessboard class that is in charge of adding pieces
      * @param piece    the piece to add
      */
     public void addPiece(ChessPosition position, ChessPiece piece) { // method that takes a position and piece and puts them on the ChessBoard
-        squares[position.getRow()-1][position.getColumn()-1] = piece;
+        int square = position.getSquare();
+        clearSquare(square); // Whatever was standing there gets replaced
+        if (piece != null) {
+            put(pieceIndex(piece.getTeamColor(), piece.getPieceType()), square);
+        }
     }
 
     /**
@@ -34,7 +92,8 @@ public class ChessBoard { // Chessboard class that is in charge of adding pieces
      * position
      */
     public ChessPiece getPiece(ChessPosition position) { // Returns which piece is standing on a specific square on the board
-        return squares[position.getRow()-1][position.getColumn()-1];
+        int index = pieceIndexAt(position.getSquare());
+        return index < 0 ? null : ChessPiece.ofIndex(index); // Shared instance, nothing is allocated
     }
 
     /**
@@ -42,27 +101,299 @@ public class ChessBoard { // Chessboard class that is in charge of adding pieces
      * (How the game of chess normally starts)
      */
     public void resetBoard() {
-        squares = new ChessPiece[8][8]; // Reset Board
+        Arrays.fill(pieceBoards, 0L); // Reset Board
+        Arrays.fill(colorBoards, 0L);
+        occupied = 0L;
+        Arrays.fill(mailbox, (byte) 0);
+        Arrays.fill(pieceCounts, 0);
+        pieceKey = 0L;
+        castlingRights = ALL_CASTLING;
+        enPassantSquare = -1;
+        undoSize = 0;
         for (int i = 1; i <=8; i++) { // Add Pawns
-            addPiece(new ChessPosition(7, i), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.PAWN));
-            addPiece(new ChessPosition(2, i), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN));
-        }
-        addPiece(new ChessPosition(1, 1), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.ROOK));
-        addPiece(new ChessPosition(8, 1), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.ROOK));
-        addPiece(new ChessPosition(1, 2), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KNIGHT));
-        addPiece(new ChessPosition(8, 2), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KNIGHT));
-        addPiece(new ChessPosition(1, 3), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.BISHOP));
-        addPiece(new ChessPosition(8, 3), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.BISHOP));
-        addPiece(new ChessPosition(1, 4), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.QUEEN));
-        addPiece(new ChessPosition(8, 4), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.QUEEN));
-        addPiece(new ChessPosition(1, 5), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KING));
-        addPiece(new ChessPosition(8, 5), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KING));
-        addPiece(new ChessPosition(1, 6), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.BISHOP));
-        addPiece(new ChessPosition(8, 6), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.BISHOP));
-        addPiece(new ChessPosition(1, 7), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KNIGHT));
-        addPiece(new ChessPosition(8, 7), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KNIGHT));
-        addPiece(new ChessPosition(1, 8), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.ROOK));
-        addPiece(new ChessPosition(8, 8), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.ROOK));
+            addPiece(ChessPosition.of(7, i), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.PAWN));
+            addPiece(ChessPosition.of(2, i), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN));
+        }
+        addPiece(ChessPosition.of(1, 1), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.ROOK));
+        addPiece(ChessPosition.of(8, 1), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.ROOK));
+        addPiece(ChessPosition.of(1, 2), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KNIGHT));
+        addPiece(ChessPosition.of(8, 2), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KNIGHT));
+        addPiece(ChessPosition.of(1, 3), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.BISHOP));
+        addPiece(ChessPosition.of(8, 3), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.BISHOP));
+        addPiece(ChessPosition.of(1, 4), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.QUEEN));
+        addPiece(ChessPosition.of(8, 4), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.QUEEN));
+        addPiece(ChessPosition.of(1, 5), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KING));
+        addPiece(ChessPosition.of(8, 5), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KING));
+        addPiece(ChessPosition.of(1, 6), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.BISHOP));
+        addPiece(ChessPosition.of(8, 6), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.BISHOP));
+        addPiece(ChessPosition.of(1, 7), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KNIGHT));
+        addPiece(ChessPosition.of(8, 7), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KNIGHT));
+        addPiece(ChessPosition.of(1, 8), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.ROOK));
+        addPiece(ChessPosition.of(8, 8), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.ROOK));
+    }
+
+    /**
+     * Makes an independent copy of the board, e.g. a snapshot to send out while play goes on, or a board to try
+     * moves on. Every part of the board is a flat primitive array, so this is a few array copies and no
+     * ChessPiece or ChessPosition objects. A copy takes about 456 bytes on a 64-bit JVM, plus 272 for the
+     * undo stack once it is played on
+     *
+     * @return a board with the same pieces, castling rights and en passant square. The undo stack isn't copied,
+     * so the copy can't take back moves made before it was taken
+     */
+    public ChessBoard copy() {
+        ChessBoard copy = new ChessBoard();
+        System.arraycopy(pieceBoards, 0, copy.pieceBoards, 0, pieceBoards.length);
+        System.arraycopy(colorBoards, 0, copy.colorBoards, 0, colorBoards.length);
+        copy.occupied = occupied;
+        System.arraycopy(mailbox, 0, copy.mailbox, 0, mailbox.length);
+        System.arraycopy(pieceSquares, 0, copy.pieceSquares, 0, pieceSquares.length);
+        System.arraycopy(pieceCounts, 0, copy.pieceCounts, 0, pieceCounts.length);
+        copy.pieceKey = pieceKey;
+        copy.castlingRights = castlingRights;
+        copy.enPassantSquare = enPassantSquare;
+        return copy;
+    }
+
+    /**
+     * Plays a packed move (see PackedMove) on this board in place, moving the rook along when castling,
+     * removing the captured pawn for en passant and swapping in the promotion piece. The move must be one the
+     * piece on its start square can make. Everything needed to take it back is pushed onto an undo stack,
+     * so unmakeMove() restores the board exactly
+     *
+     * @param move packed move to play
+     */
+    public void makeMove(int move) {
+        int from = PackedMove.from(move);
+        int to = PackedMove.to(move);
+        int flag = PackedMove.flag(move);
+        int moving = pieceIndexAt(from);
+        int color = moving / 6;
+
+        int captureSquare = to;
+        if (flag == PackedMove.EN_PASSANT) {
+            captureSquare = color == 0 ? to - 8 : to + 8; // The captured pawn sits behind the square we land on
+        }
+        int captured = pieceIndexAt(captureSquare);
+
+        // Undo record: bits 0-15 the move, 16-19 captured piece + 1, 20-23 castling rights, 24-30 en passant square + 1
+        if (undoStack == null) {
+            undoStack = new int[64];
+        }
+        else if (undoSize == undoStack.length) {
+            undoStack = Arrays.copyOf(undoStack, undoSize * 2);
+        }
+        undoStack[undoSize++] = move | ((captured + 1) << 16) | (castlingRights << 20) | ((enPassantSquare + 1) << 24);
+
+        if (captured >= 0) {
+            remove(captured, captureSquare);
+        }
+        remove(moving, from);
+        put(flag == PackedMove.PROMOTION ? color * 6 + PackedMove.promotionPiece(move).ordinal() : moving, to);
+        if (flag == PackedMove.CASTLING) { // Bring the rook over to the other side of the king
+            int rook = color * 6 + ChessPiece.PieceType.ROOK.ordinal();
+            remove(rook, to > from ? from + 3 : from - 4);
+            put(rook, to > from ? from + 1 : from - 1);
+        }
+
+        castlingRights &= CASTLING_MASK[from] & CASTLING_MASK[to];
+        boolean doubleStep = moving % 6 == ChessPiece.PieceType.PAWN.ordinal() && Math.abs(to - from) == 16;
+        enPassantSquare = doubleStep ? (from + to) / 2 : -1;
+    }
+
+    /**
+     * Takes back the last move played with makeMove(int)
+     */
+    public void unmakeMove() {
+        int record = undoStack[--undoSize];
+        int move = record & 0xFFFF;
+        int captured = ((record >>> 16) & 0xF) - 1;
+        castlingRights = (record >>> 20) & 0xF;
+        enPassantSquare = ((record >>> 24) & 0x7F) - 1;
+
+        int from = PackedMove.from(move);
+        int to = PackedMove.to(move);
+        int flag = PackedMove.flag(move);
+        int landed = pieceIndexAt(to);
+        int color = landed / 6;
+
+        remove(landed, to);
+        put(flag == PackedMove.PROMOTION ? color * 6 + ChessPiece.PieceType.PAWN.ordinal() : landed, from);
+        if (flag == PackedMove.CASTLING) {
+            int rook = color * 6 + ChessPiece.PieceType.ROOK.ordinal();
+            remove(rook, to > from ? from + 1 : from - 1);
+            put(rook, to > from ? from + 3 : from - 4);
+        }
+        if (captured >= 0) {
+            int captureSquare = to;
+            if (flag == PackedMove.EN_PASSANT) {
+                captureSquare = color == 0 ? to - 8 : to + 8;
+            }
+            put(captured, captureSquare);
+        }
+    }
+
+    /**
+     * Determines if any piece of the given team attacks a square, whether or not the square is empty.
+     * Probes outward from the square with the knight, king and pawn tables and one slider lookup per
+     * direction type, so it costs the same no matter how many pieces are on the board
+     *
+     * @param position square to test
+     * @param byColor  team whose attacks count
+     * @return True if a piece of byColor attacks the square
+     */
+    public boolean isAttacked(ChessPosition position, ChessGame.TeamColor byColor) {
+        return isAttacked(position.getSquare(), byColor.ordinal());
+    }
+
+    boolean isAttacked(int square, int byColor) {
+        return attackersOf(square, byColor, occupied) != 0;
+    }
+
+    /**
+     * @return every piece of team byColor that attacks square, treating exactly the squares in occupied as blocked
+     */
+    long attackersOf(int square, int byColor, long occupied) {
+        int base = byColor * 6;
+        long queens = pieceBoards[base + ChessPiece.PieceType.QUEEN.ordinal()];
+        return (Bitboards.KNIGHT_ATTACKS[square] & pieceBoards[base + ChessPiece.PieceType.KNIGHT.ordinal()])
+                | (Bitboards.KING_ATTACKS[square] & pieceBoards[base + ChessPiece.PieceType.KING.ordinal()])
+                // An enemy pawn attacks square if a pawn of ours on square would attack the enemy pawn
+                | (Bitboards.PAWN_ATTACKS[1 - byColor][square] & pieceBoards[base + ChessPiece.PieceType.PAWN.ordinal()])
+                | (Bitboards.bishopAttacks(square, occupied) & (pieceBoards[base + ChessPiece.PieceType.BISHOP.ordinal()] | queens))
+                | (Bitboards.rookAttacks(square, occupied) & (pieceBoards[base + ChessPiece.PieceType.ROOK.ordinal()] | queens));
+    }
+
+    /**
+     * Gets the squares of every piece a team has left, without looking at the empty squares
+     *
+     * @param color team whose pieces to list
+     * @return a new list of the positions of that team's pieces, in no particular order
+     */
+    public List<ChessPosition> piecePositions(ChessGame.TeamColor color) {
+        int team = color.ordinal();
+        List<ChessPosition> positions = new ArrayList<>(pieceCounts[team]);
+        for (int i = 0; i < pieceCounts[team]; i++) {
+            positions.add(ChessPosition.ofSquare(pieceSquare(team, i)));
+        }
+        return positions;
+    }
+
+    /**
+     * @return how many pieces the team has on the board
+     */
+    int pieceCount(int color) {
+        return pieceCounts[color];
+    }
+
+    /**
+     * @return the square of the i-th piece in the team's piece list, for i below pieceCount(color)
+     */
+    int pieceSquare(int color, int i) {
+        return pieceSquares[color * 64 + i];
+    }
+
+    /**
+     * @return the square of the given team's king, or -1 if it has none. The king's bitboard already
+     * pins it down, so this is a single bit scan
+     */
+    int kingSquare(int color) {
+        long king = pieceBoards[color * 6 + ChessPiece.PieceType.KING.ordinal()];
+        return king == 0 ? -1 : Long.numberOfTrailingZeros(king);
+    }
+
+    /**
+     * Gets a 64-bit Zobrist key for the position: the pieces, the castling rights that can still be used and
+     * the en passant square if a pawn could actually capture onto it. Whose turn it is isn't part of the board,
+     * so it isn't part of the key. Kept up to date as pieces change, so this is O(1)
+     *
+     * @return the position's Zobrist key
+     */
+    public long zobristKey() {
+        long key = pieceKey ^ Zobrist.CASTLING[usableCastlingRights()];
+        if (enPassantSquare >= 0) {
+            int capturer = enPassantSquare / 8 == 5 ? 0 : 1; // Row 6 can only be captured onto by white, row 3 by black
+            long pawns = pieceBoards[capturer * 6 + ChessPiece.PieceType.PAWN.ordinal()];
+            if ((Bitboards.PAWN_ATTACKS[1 - capturer][enPassantSquare] & pawns) != 0) {
+                key ^= Zobrist.EN_PASSANT[enPassantSquare % 8];
+            }
+        }
+        return key;
+    }
+
+    /**
+     * @return the castling rights whose king and rook are still standing on their starting squares
+     */
+    int usableCastlingRights() {
+        int rights = castlingRights;
+        long whiteRooks = pieceBoards[ChessPiece.PieceType.ROOK.ordinal()];
+        long blackRooks = pieceBoards[6 + ChessPiece.PieceType.ROOK.ordinal()];
+        if ((pieceBoards[ChessPiece.PieceType.KING.ordinal()] & (1L << 4)) == 0) {
+            rights &= ~(WHITE_KINGSIDE_CASTLING | WHITE_QUEENSIDE_CASTLING);
+        }
+        if ((pieceBoards[6 + ChessPiece.PieceType.KING.ordinal()] & (1L << 60)) == 0) {
+            rights &= ~(BLACK_KINGSIDE_CASTLING | BLACK_QUEENSIDE_CASTLING);
+        }
+        if ((whiteRooks & (1L << 7)) == 0) {
+            rights &= ~WHITE_KINGSIDE_CASTLING;
+        }
+        if ((whiteRooks & 1L) == 0) {
+            rights &= ~WHITE_QUEENSIDE_CASTLING;
+        }
+        if ((blackRooks & (1L << 63)) == 0) {
+            rights &= ~BLACK_KINGSIDE_CASTLING;
+        }
+        if ((blackRooks & (1L << 56)) == 0) {
+            rights &= ~BLACK_QUEENSIDE_CASTLING;
+        }
+        return rights;
+    }
+
+    /**
+     * @return index into pieceBoards for a piece of the given color and type (0-5 white, 6-11 black)
+     */
+    static int pieceIndex(ChessGame.TeamColor color, ChessPiece.PieceType type) {
+        return color.ordinal() * 6 + type.ordinal();
+    }
+
+    /**
+     * @return the pieceBoards index of whatever stands on the square, or -1 if it is empty
+     */
+    int pieceIndexAt(int square) {
+        return mailbox[square] - 1;
+    }
+
+    private void put(int index, int square) {
+        long bit = 1L << square;
+        pieceBoards[index] |= bit;
+        colorBoards[index / 6] |= bit;
+        occupied |= bit;
+        mailbox[square] = (byte) (index + 1);
+        pieceKey ^= Zobrist.PIECES[index][square];
+        int color = index / 6;
+        pieceSquares[color * 64 + pieceCounts[color]++] = (byte) square;
+    }
+
+    private void remove(int index, int square) {
+        long bit = ~(1L << square);
+        pieceBoards[index] &= bit;
+        colorBoards[index / 6] &= bit;
+        occupied &= bit;
+        mailbox[square] = 0;
+        pieceKey ^= Zobrist.PIECES[index][square];
+        int color = index / 6; // Move the last piece in the list into the removed piece's slot
+        int slot = color * 64;
+        while (pieceSquares[slot] != square) {
+            slot++;
+        }
+        pieceSquares[slot] = pieceSquares[color * 64 + --pieceCounts[color]];
+    }
+
+    private void clearSquare(int square) {
+        int index = pieceIndexAt(square);
+        if (index >= 0) {
+            remove(index, square);
+        }
     }
 
     @Override
@@ -71,11 +402,12 @@ public class ChessBoard { // Chessboard class that is in charge of adding pieces
             return false;
         }
         ChessBoard that = (ChessBoard) o;
-        return Objects.deepEquals(squares, that.squares);
+        return Arrays.equals(pieceBoards, that.pieceBoards);
     }
 
     @Override
     public int hashCode() {
-        return Arrays.deepHashCode(squares);
+        // Only the pieces take part, to match equals()
+        return (int) (pieceKey ^ (pieceKey >>> 32));
     }
 }
@@ -0,0 +1,108 @@
+package chess;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Reads and writes ChessBoard as {"pieceBoards":[...12 bitboards...],"castlingRights":r,"enPassantSquare":s}.
+ * Everything else on the board (the mailbox, piece lists, colour boards and Zobrist key) is worked out from
+ * the pieces, so it is left out of the JSON and rebuilt through addPiece when reading. Boards written before
+ * the bitboards, as {"squares":[[...8 pieces or nulls...], ...]}, are read too
+ */
+public class ChessBoardAdapter extends TypeAdapter<ChessBoard> {
+
+    @Override
+    public void write(JsonWriter out, ChessBoard board) throws IOException {
+        if (board == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("pieceBoards").beginArray();
+        for (long pieces : board.pieceBoards) {
+            out.value(pieces);
+        }
+        out.endArray();
+        out.name("castlingRights").value(board.castlingRights);
+        out.name("enPassantSquare").value(board.enPassantSquare);
+        out.endObject();
+    }
+
+    @Override
+    public ChessBoard read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        ChessBoard board = new ChessBoard();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "pieceBoards" -> readPieceBoards(in, board);
+                case "squares" -> readSquares(in, board);
+                case "castlingRights" -> {
+                    int rights = in.nextInt();
+                    if (rights < 0 || rights > ChessBoard.ALL_CASTLING) {
+                        throw new JsonParseException("Castling rights " + rights + " are not between 0 and 15");
+                    }
+                    board.castlingRights = rights;
+                }
+                case "enPassantSquare" -> {
+                    int square = in.nextInt();
+                    if (square < -1 || square > 63) {
+                        throw new JsonParseException("En passant square " + square + " is not on the board");
+                    }
+                    board.enPassantSquare = square;
+                }
+                default -> in.skipValue(); // Derived fields from older JSON are rebuilt instead of trusted
+            }
+        }
+        in.endObject();
+        return board;
+    }
+
+    private static void readPieceBoards(JsonReader in, ChessBoard board) throws IOException {
+        in.beginArray();
+        for (int index = 0; in.hasNext(); index++) {
+            if (index == board.pieceBoards.length) {
+                throw new JsonParseException("More than " + board.pieceBoards.length + " piece boards");
+            }
+            long pieces = in.nextLong();
+            for (; pieces != 0; pieces &= pieces - 1) {
+                int square = Long.numberOfTrailingZeros(pieces);
+                if (board.pieceIndexAt(square) >= 0) {
+                    throw new JsonParseException("Two pieces on square " + square);
+                }
+                board.addPiece(ChessPosition.ofSquare(square), ChessPiece.ofIndex(index));
+            }
+        }
+        in.endArray();
+    }
+
+    private static void readSquares(JsonReader in, ChessBoard board) throws IOException {
+        TypeAdapter<ChessPiece> pieces = new ChessPieceAdapter();
+        in.beginArray();
+        for (int row = 1; in.hasNext(); row++) {
+            in.beginArray();
+            for (int col = 1; in.hasNext(); col++) {
+                if (row > 8 || col > 8) {
+                    throw new JsonParseException("Squares are not 8 by 8");
+                }
+                ChessPiece piece = pieces.read(in);
+                if (piece != null && (piece.getTeamColor() == null || piece.getPieceType() == null)) {
+                    throw new JsonParseException("Piece on row " + row + " column " + col + " is missing its color or type");
+                }
+                if (piece != null) {
+                    board.addPiece(ChessPosition.of(row, col), piece);
+                }
+            }
+            in.endArray();
+        }
+        in.endArray();
+    }
+}
@@ -1,6 +1,8 @@
 package chess;
 
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Objects;
 
 /**
  * For a class that can manage a chess game, making moves on a board
@@ -10,15 +12,79 @@ import java.util.Collection;
  */
 public class ChessGame {
 
+    private ChessBoard board;
+    private TeamColor teamTurn = TeamColor.WHITE;
+    // Legal moves for the current position, shared by every validMoves, makeMove and status question about it
+    // Created on first use, so games that are only stored or sent around don't carry one
+    private transient LegalMoveCache legalMoves;
+    // Status of the team to move, worked out at the end of each makeMove. undoMove, redoMove and replayTo
+    // only clear it, so stepping through the journal leaves it to the next question. Only trusted while the board,
+    // its Zobrist key and the turn are still the ones it was worked out for, so edits made through
+    // getBoard(), setBoard or setTeamTurn are picked up
+    private transient GameStatus status;
+    private transient boolean statusCheck; // A draw status can hide a check, so keep it apart
+    private transient ChessBoard statusBoard;
+    private transient long statusKey;
+    private transient TeamColor statusTurn;
+    // Keys (see positionKey()) of every position since the history was last restarted, one per ply, the
+    // current one last. Undoing a move just drops the last key. The history and journal are transient, so a
+    // game sent through Gson stays the same size however long it has run. A game read back starts a new
+    // history from its position, the same as after setBoard: it has nothing to undo and repetitions are
+    // counted from there, while the move counters come across
+    private transient long[] positionKeys;
+    private transient int positionCount;
+    // One record per move played since the history was last restarted: bits 0-15 the packed move as
+    // generated (see PackedMove), the bits above that the halfmove clock before it. Entry i leads from
+    // position i to i + 1. Entries past the current ply are moves that were undone and can be redone
+    private transient long[] journal;
+    private transient int journalLength;
+    // Moves by either team since the last capture or pawn move, for the fifty-move rule
+    private int halfmoveClock;
+    // Starts at 1 and goes up after each of black's moves
+    private int fullmoveNumber = 1;
+
+    // Squares like b1 and a2, the ones a light-squared bishop moves on
+    private static final long LIGHT_SQUARES = 0x55AA55AA55AA55AAL;
+
     public ChessGame() {
+        board = new ChessBoard();
+        board.resetBoard();
+        restartHistory();
+    }
+
+    ChessGame(ChessBoard board, TeamColor teamTurn, int halfmoveClock, int fullmoveNumber) {
+        this.board = board;
+        this.teamTurn = teamTurn;
+        this.halfmoveClock = halfmoveClock;
+        this.fullmoveNumber = fullmoveNumber;
+        restartHistory();
+    }
+
+    /**
+     * Builds a game from a FEN string, including the team to move, castling rights, en passant square and
+     * both move counters. Everything after the piece placement may be left out
+     *
+     * @param fen position in Forsyth-Edwards Notation
+     * @return a new game in that position
+     * @throws IllegalArgumentException if fen isn't a valid FEN position
+     */
+    public static ChessGame fromFen(String fen) {
+        return Fen.parse(fen);
+    }
 
+    /**
+     * @return the current position in Forsyth-Edwards Notation. Only castling rights whose king and rook are
+     * still on their starting squares are written
+     */
+    public String toFen() {
+        return Fen.format(this);
     }
 
     /**
      * @return Which team's turn it is
      */
     public TeamColor getTeamTurn() {
-        throw new RuntimeException("Not implemented");
+        return teamTurn;
     }
 
     /**
@@ -27,7 +93,8 @@ public class ChessGame {
      * @param team the team whose turn it is
      */
     public void setTeamTurn(TeamColor team) {
-        throw new RuntimeException("Not implemented");
+        teamTurn = team;
+        restartHistory();
     }
 
     /**
@@ -38,6 +105,40 @@ public class ChessGame {
         BLACK
     }
 
+    /**
+     * Where the game stands for the team whose turn it is
+     */
+    public enum GameStatus {
+        IN_PROGRESS,
+        CHECK,
+        CHECKMATE,
+        STALEMATE,
+        // Neither team has enough pieces left to ever checkmate, so the game is drawn
+        DRAW_BY_INSUFFICIENT_MATERIAL,
+        // Fifty moves each without a capture or pawn move, so either player may claim a draw
+        DRAW_BY_FIFTY_MOVES,
+        // The position has come up three times with the same team to move, so either player may claim a draw
+        DRAW_BY_REPETITION
+    }
+
+    /**
+     * Gets the status of the team whose turn it is. It is worked out once per position, so asking
+     * again (or asking isInCheck, isInCheckmate or isInStalemate about that team) is O(1)
+     *
+     * @return whether the team to move is in check, checkmate, stalemate or none of them
+     */
+    public GameStatus getStatus() {
+        long key = board.zobristKey();
+        if (status == null || statusBoard != board || statusKey != key || statusTurn != teamTurn) {
+            statusCheck = kingInCheck(teamTurn);
+            status = computeStatus(teamTurn, statusCheck);
+            statusBoard = board;
+            statusKey = key;
+            statusTurn = teamTurn;
+        }
+        return status;
+    }
+
     /**
      * Gets a valid moves for a piece at the given location
      *
@@ -46,7 +147,26 @@ public class ChessGame {
      * startPosition
      */
     public Collection<ChessMove> validMoves(ChessPosition startPosition) {
-        throw new RuntimeException("Not implemented");
+        ChessPiece piece = board.getPiece(startPosition);
+        if (piece == null) {
+            return null;
+        }
+        int color = piece.getTeamColor().ordinal();
+        int square = startPosition.getSquare();
+        LegalMoveCache cache = legalMoves();
+        MoveList moves = cache.moves(board, color);
+        return moves.toChessMoves(cache.start(color, square), cache.end(color, square));
+    }
+
+    /**
+     * Gets every valid move for one team's pieces in a single pass, sharing the check and pin analysis
+     * between the pieces instead of redoing it for each validMoves call
+     *
+     * @param teamColor the team to get valid moves for, whether or not it is that team's turn
+     * @return every valid move of that team, empty if it has none
+     */
+    public Collection<ChessMove> allValidMoves(TeamColor teamColor) {
+        return legalMoves().moves(board, teamColor.ordinal()).toChessMoves();
     }
 
     /**
@@ -56,7 +176,178 @@ public class ChessGame {
      * @throws InvalidMoveException if move is invalid
      */
     public void makeMove(ChessMove move) throws InvalidMoveException {
-        throw new RuntimeException("Not implemented");
+        if (move == null || !onBoard(move.getStartPosition()) || !onBoard(move.getEndPosition())) {
+            throw new InvalidMoveException("Move is not on the board");
+        }
+        ChessPiece.PieceType promotion = move.getPromotionPiece();
+        if (promotion == ChessPiece.PieceType.KING || promotion == ChessPiece.PieceType.PAWN) {
+            throw new InvalidMoveException("Pawns cannot promote to " + promotion);
+        }
+        ChessPiece piece = board.getPiece(move.getStartPosition());
+        if (piece == null) {
+            throw new InvalidMoveException("No piece at " + move.getStartPosition());
+        }
+        if (piece.getTeamColor() != teamTurn) {
+            throw new InvalidMoveException("It is " + teamTurn + "'s turn");
+        }
+        int color = teamTurn.ordinal();
+        int square = move.getStartPosition().getSquare();
+        LegalMoveCache cache = legalMoves();
+        MoveList moves = cache.moves(board, color);
+        int index = moves.indexOf(move.toPacked(), cache.start(color, square), cache.end(color, square));
+        if (index < 0) {
+            throw new InvalidMoveException("Invalid move: " + move);
+        }
+        checkHistory();
+        journalLength = positionCount - 1; // A new move replaces any that were undone
+        play(moves.get(index)); // Use the generated move so castling and en passant flags come along
+        getStatus(); // Everyone asks right after a move, so work it out now
+    }
+
+    /**
+     * Takes back the last move, restoring the board, the turn and the move counters. The move stays in the
+     * journal, so redoMove can play it again until a different move is made
+     *
+     * @return True if a move was taken back, false if there was none since the game started, the
+     * board was last replaced or the game was deserialized
+     */
+    public boolean undoMove() {
+        checkHistory();
+        if (positionCount <= 1) {
+            return false;
+        }
+        long record = journal[positionCount - 2];
+        board.unmakeMove();
+        teamTurn = teamTurn == TeamColor.WHITE ? TeamColor.BLACK : TeamColor.WHITE;
+        halfmoveClock = (int) (record >>> 16);
+        if (teamTurn == TeamColor.BLACK) { // Black's move was taken back
+            fullmoveNumber--;
+        }
+        positionCount--;
+        status = null;
+        return true;
+    }
+
+    /**
+     * Plays the last move taken back with undoMove again
+     *
+     * @return True if a move was replayed, false if there was nothing to redo
+     */
+    public boolean redoMove() {
+        checkHistory();
+        if (positionCount > journalLength) {
+            return false;
+        }
+        play((int) journal[positionCount - 1] & 0xFFFF);
+        return true;
+    }
+
+    /**
+     * Moves through the journal to the position after the given number of plies, undoing or redoing one
+     * move at a time, each in O(1)
+     *
+     * @param ply number of moves since the game started or the board was last replaced, from 0 up to
+     *            getJournalLength()
+     * @throws IllegalArgumentException if there is no such ply in the journal
+     */
+    public void replayTo(int ply) {
+        checkHistory();
+        if (ply < 0 || ply > journalLength) {
+            throw new IllegalArgumentException("Ply " + ply + " is not between 0 and " + journalLength);
+        }
+        while (getPly() > ply) {
+            undoMove();
+        }
+        while (getPly() < ply) {
+            redoMove();
+        }
+    }
+
+    /**
+     * @return how many moves have been played to reach the current position, since the game started or the
+     * board was last replaced
+     */
+    public int getPly() {
+        return positionCount - 1;
+    }
+
+    /**
+     * @return how many moves are in the journal, including moves that were undone and can be redone
+     */
+    public int getJournalLength() {
+        return journalLength;
+    }
+
+    /**
+     * Determines if the current position has come up at least three times with the same team to move,
+     * which lets either player claim a draw. Nothing before the last capture or pawn move can come back,
+     * so only positions since then are looked at, and only every other one of those, since the team to
+     * move alternates
+     *
+     * @return True if the current position has occurred three or more times
+     */
+    public boolean isDrawByRepetition() {
+        checkHistory(); // A board edited behind our back is a position the history has never seen
+        long current = positionKeys[positionCount - 1];
+        int seen = 1;
+        int oldest = Math.max(0, positionCount - 1 - halfmoveClock);
+        for (int i = positionCount - 3; i >= oldest; i -= 2) {
+            if (positionKeys[i] == current && ++seen == 3) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Determines if fifty moves by each team have been played without a capture or pawn move,
+     * which lets either player claim a draw
+     *
+     * @return True if the halfmove clock has reached 100
+     */
+    public boolean isDrawByFiftyMoves() {
+        return halfmoveClock >= 100;
+    }
+
+    /**
+     * Gets the number of moves by either team since the last capture or pawn move
+     *
+     * @return the halfmove clock, counted from the last setBoard when there has been no such move since
+     */
+    public int getHalfmoveClock() {
+        return halfmoveClock;
+    }
+
+    /**
+     * Gets the number of the current move, which starts at 1 and goes up after each of black's moves
+     *
+     * @return the fullmove number
+     */
+    public int getFullmoveNumber() {
+        return fullmoveNumber;
+    }
+
+    /**
+     * Determines if neither team has the pieces left to checkmate: bare kings, a king and one bishop or
+     * knight against a bare king, or kings and bishops that all move on the same color of square. Works
+     * straight from the board's piece bitboards, so it is O(1)
+     *
+     * @return True if checkmate is no longer possible for either team
+     */
+    public boolean isInsufficientMaterial() {
+        long[] pieces = board.pieceBoards;
+        int pawn = ChessPiece.PieceType.PAWN.ordinal();
+        int rook = ChessPiece.PieceType.ROOK.ordinal();
+        int queen = ChessPiece.PieceType.QUEEN.ordinal();
+        if ((pieces[pawn] | pieces[6 + pawn] | pieces[rook] | pieces[6 + rook] | pieces[queen] | pieces[6 + queen]) != 0) {
+            return false;
+        }
+        long knights = pieces[ChessPiece.PieceType.KNIGHT.ordinal()] | pieces[6 + ChessPiece.PieceType.KNIGHT.ordinal()];
+        long bishops = pieces[ChessPiece.PieceType.BISHOP.ordinal()] | pieces[6 + ChessPiece.PieceType.BISHOP.ordinal()];
+        if (Long.bitCount(knights | bishops) <= 1) {
+            return true;
+        }
+        return knights == 0 && ((bishops & LIGHT_SQUARES) == 0 || (bishops & ~LIGHT_SQUARES) == 0);
     }
 
     /**
@@ -66,7 +357,11 @@ public class ChessGame {
      * @return True if the specified team is in check
      */
     public boolean isInCheck(TeamColor teamColor) {
-        throw new RuntimeException("Not implemented");
+        if (teamColor == teamTurn) {
+            getStatus();
+            return statusCheck;
+        }
+        return kingInCheck(teamColor);
     }
 
     /**
@@ -76,7 +371,10 @@ public class ChessGame {
      * @return True if the specified team is in checkmate
      */
     public boolean isInCheckmate(TeamColor teamColor) {
-        throw new RuntimeException("Not implemented");
+        if (teamColor == teamTurn) {
+            return getStatus() == GameStatus.CHECKMATE;
+        }
+        return computeStatus(teamColor, kingInCheck(teamColor)) == GameStatus.CHECKMATE;
     }
 
     /**
@@ -87,7 +385,10 @@ public class ChessGame {
      * @return True if the specified team is in stalemate, otherwise false
      */
     public boolean isInStalemate(TeamColor teamColor) {
-        throw new RuntimeException("Not implemented");
+        if (teamColor == teamTurn) {
+            return getStatus() == GameStatus.STALEMATE;
+        }
+        return computeStatus(teamColor, kingInCheck(teamColor)) == GameStatus.STALEMATE;
     }
 
     /**
@@ -96,7 +397,13 @@ public class ChessGame {
      * @param board the new board to use
      */
     public void setBoard(ChessBoard board) {
-        throw new RuntimeException("Not implemented");
+        this.board = board;
+        if (legalMoves != null) {
+            legalMoves.clear();
+        }
+        restartHistory();
+        halfmoveClock = 0;
+        fullmoveNumber = 1;
     }
 
     /**
@@ -105,6 +412,126 @@ public class ChessGame {
      * @return the chessboard
      */
     public ChessBoard getBoard() {
-        throw new RuntimeException("Not implemented");
+        return board;
+    }
+
+    private boolean kingInCheck(TeamColor teamColor) {
+        int kingSquare = board.kingSquare(teamColor.ordinal());
+        return kingSquare >= 0 && board.isAttacked(kingSquare, 1 - teamColor.ordinal()); // No king means no check
+    }
+
+    /**
+     * @return every legal move of the team to move as packed moves. Owned by the legal-move cache, so callers
+     * must not change it, and it is only valid until the board changes
+     */
+    MoveList currentLegalMoves() {
+        return legalMoves().moves(board, teamTurn.ordinal());
+    }
+
+    private LegalMoveCache legalMoves() {
+        if (legalMoves == null) {
+            legalMoves = new LegalMoveCache();
+        }
+        return legalMoves;
+    }
+
+    private GameStatus computeStatus(TeamColor teamColor, boolean check) {
+        if (!legalMoves().hasMoves(board, teamColor.ordinal())) {
+            return check ? GameStatus.CHECKMATE : GameStatus.STALEMATE;
+        }
+        if (isInsufficientMaterial()) {
+            return GameStatus.DRAW_BY_INSUFFICIENT_MATERIAL;
+        }
+        if (teamColor == teamTurn && isDrawByFiftyMoves()) {
+            return GameStatus.DRAW_BY_FIFTY_MOVES;
+        }
+        if (teamColor == teamTurn && isDrawByRepetition()) {
+            return GameStatus.DRAW_BY_REPETITION;
+        }
+        return check ? GameStatus.CHECK : GameStatus.IN_PROGRESS;
+    }
+
+    /**
+     * @return the board's Zobrist key with the team to move folded in, so the same pieces with the other
+     * team to move count as a different position
+     */
+    private long positionKey() {
+        return board.zobristKey() ^ (teamTurn == TeamColor.BLACK ? Zobrist.BLACK_TO_MOVE : 0);
+    }
+
+    /**
+     * Forgets every earlier position and starts the history again from the current one
+     */
+    private void restartHistory() {
+        positionCount = 0;
+        journalLength = 0;
+        recordPosition();
+        status = null; // A draw status may have come from the history or clock being forgotten
+    }
+
+    /**
+     * Restarts the history if the board or turn was changed behind our back, since the journal
+     * no longer leads to the current position then
+     */
+    private void checkHistory() {
+        if (positionCount == 0 || positionKeys[positionCount - 1] != positionKey()) {
+            restartHistory();
+        }
+    }
+
+    /**
+     * Plays a legal packed move for the team to move and records it at the current ply of the journal
+     */
+    private void play(int move) {
+        int ply = positionCount - 1;
+        if (journal == null) {
+            journal = new long[32];
+        }
+        else if (ply == journal.length) {
+            journal = Arrays.copyOf(journal, ply * 2);
+        }
+        journal[ply] = move | ((long) halfmoveClock << 16);
+        journalLength = Math.max(journalLength, ply + 1);
+
+        int moving = board.pieceIndexAt(PackedMove.from(move));
+        boolean irreversible = moving % 6 == ChessPiece.PieceType.PAWN.ordinal()
+                || board.pieceIndexAt(PackedMove.to(move)) >= 0;
+        board.makeMove(move);
+        teamTurn = teamTurn == TeamColor.WHITE ? TeamColor.BLACK : TeamColor.WHITE;
+        halfmoveClock = irreversible ? 0 : halfmoveClock + 1;
+        if (teamTurn == TeamColor.WHITE) { // Black just moved
+            fullmoveNumber++;
+        }
+        recordPosition();
+        status = null; // The same position can have a different status now that it has come up again
+    }
+
+    private void recordPosition() {
+        if (positionKeys == null) {
+            positionKeys = new long[32];
+        }
+        else if (positionCount == positionKeys.length) {
+            positionKeys = Arrays.copyOf(positionKeys, positionCount * 2);
+        }
+        positionKeys[positionCount++] = positionKey();
+    }
+
+    private static boolean onBoard(ChessPosition position) {
+        return position != null && position.getRow() >= 1 && position.getRow() <= 8
+                && position.getColumn() >= 1 && position.getColumn() <= 8;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ChessGame chessGame = (ChessGame) o;
+        return Objects.equals(board, chessGame.board) && teamTurn == chessGame.teamTurn;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(board, teamTurn);
     }
 }
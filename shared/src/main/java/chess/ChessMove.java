@@ -45,6 +45,22 @@ public class ChessMove {
         return promotionPiece;
     }
 
+    /**
+     * Packs this move into an int (see PackedMove). Both positions must be on the board.
+     * Castling and en passant can't be told apart from a normal move without a board,
+     * so compare the result with PackedMove.key()
+     *
+     * @return the packed form of this move
+     */
+    public int toPacked() {
+        int from = startPosition.getSquare();
+        int to = endPosition.getSquare();
+        if (promotionPiece != null) {
+            return PackedMove.promotion(from, to, promotionPiece);
+        }
+        return PackedMove.of(from, to, PackedMove.NORMAL);
+    }
+
 
     @Override
     public String toString() {
@@ -62,6 +78,10 @@ public class ChessMove {
 
     @Override
     public int hashCode() {
-        return Objects.hash(startPosition, endPosition, promotionPiece);
+        // 31-based mixing of the three fields, like Objects.hash but without boxing into a varargs array. The
+        // promotion piece counts by ordinal + 1 rather than its identity hash, so the value is the same in every run
+        int result = startPosition == null ? 0 : startPosition.hashCode();
+        result = 31 * result + (endPosition == null ? 0 : endPosition.hashCode());
+        return 31 * result + (promotionPiece == null ? 0 : promotionPiece.ordinal() + 1);
     }
 }
@@ -1,8 +1,8 @@
 package chess;
 
-import java.util.ArrayList;
+import com.google.gson.annotations.JsonAdapter;
+
 import java.util.Collection;
-import java.util.List;
 import java.util.Objects;
 
 /**
@@ -11,8 +11,20 @@ import java.util.Objects;
  * Note: You can add to this class, but you may not alter
  * signature of the existing methods.
  */
+@JsonAdapter(ChessPieceAdapter.class)
 public class ChessPiece {
 
+    // One shared instance per color and type, indexed like ChessBoard.pieceIndex()
+    private static final ChessPiece[] PIECES = new ChessPiece[12];
+
+    static {
+        for (ChessGame.TeamColor color : ChessGame.TeamColor.values()) {
+            for (PieceType type : PieceType.values()) {
+                PIECES[ChessBoard.pieceIndex(color, type)] = new ChessPiece(color, type);
+            }
+        }
+    }
+
     private final ChessGame.TeamColor pieceColor;
     private final PieceType type;
 
@@ -21,8 +33,29 @@ public class ChessPiece {
         this.type = type;
     }
 
+    /**
+     * Gets the shared piece for a color and type instead of allocating a new one.
+     * Pieces never change, so every board can hold the same 12 instances
+     *
+     * @return the piece of the given color and type
+     */
+    public static ChessPiece of(ChessGame.TeamColor pieceColor, ChessPiece.PieceType type) {
+        return PIECES[ChessBoard.pieceIndex(pieceColor, type)];
+    }
+
+    /**
+     * @param index ChessBoard.pieceIndex() of the piece
+     * @return the shared piece for that index
+     */
+    static ChessPiece ofIndex(int index) {
+        return PIECES[index];
+    }
+
     @Override
     public boolean equals(Object o) {
+        if (this == o) { // Always the case for two shared instances
+            return true;
+        }
         if (o == null || getClass() != o.getClass()) {
             return false;
         }
@@ -69,641 +102,19 @@ public class ChessPiece {
      * @return Collection of valid moves
      */
     public Collection<ChessMove> pieceMoves(ChessBoard board, ChessPosition myPosition) {
-        ChessPiece piece = board.getPiece(myPosition);
-        List<ChessMove> possibleMoves = new ArrayList<>();
-        int startingX = myPosition.getColumn();
-        int startingY = myPosition.getRow();
-
-
-        if (piece.getPieceType() == PieceType.BISHOP) {
-            // Check top right
-            int x = startingX + 1;
-            int y = startingY + 1;
-            while (x <= 8 && y <= 8) {
-                // MAKE SURE ChessPosition(y, x) not (x, y)
-                ChessPiece newSpot = board.getPiece(new ChessPosition(y, x));
-                if (newSpot == null) { // Check if space is empty
-                    possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(y, x), null)); // If empty, add to list of possible moves
-                    // Increment x and y
-                    x++;
-                    y++;
-                }
-                // If not empty, check team type
-                else if (newSpot.getTeamColor() != pieceColor) { // (May have to put this.pieceColor) If they are not our team, add final spot to list before exiting
-                    possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(y, x), null));
-                    // Set x and y to 9 so it exits while loop
-                    x = 9;
-                    y = 9;
-                }
-                else { // Piece in the way is on our team and we exit while loop
-                    x = 9;
-                    y = 9;
-                }
-            }
-            // Check top left
-            x = startingX - 1;
-            y = startingY + 1;
-            while (x >= 1 && y <= 8) {
-                ChessPiece newSpot = board.getPiece(new ChessPosition(y, x));
-                if (newSpot == null) { // Is potential free space empty... if so, add to list
-                    possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(y, x), null));
-                    x--;
-                    y++;
-                }
-                else if (newSpot.getTeamColor() != pieceColor) { // Is piece in the way an opponent... if so, add to list then exit loop
-                    possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(y, x), null));
-                    x = 0;
-                    y = 9;
-                }
-                else { // Assuming piece in the way is on our team... exit loop
-                    x = 0;
-                    y = 9;
-                }
-            }
-            // Check bottom left
-            x = startingX - 1;
-            y = startingY - 1;
-            while (x >= 1 && y >= 1) {
-                ChessPiece newSpot = board.getPiece(new ChessPosition(y, x));
-                if (newSpot == null) {
-                    possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(y, x), null));
-                    x--;
-                    y--;
-                }
-                else if (newSpot.getTeamColor() != pieceColor) { // Is piece in the way an opponent... if so, add to list then exit loop
-                    possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(y, x), null));
-                    x = 0;
-                    y = 0;
-                }
-                else { // Assuming piece in the way is on our team... exit loop
-                    x = 0;
-                    y = 0;
-                }
-            }
-            // Check bottom right
-            x = startingX + 1;
-            y = startingY - 1;
-            while (x <= 8 && y >= 1) {
-                ChessPiece newSpot = board.getPiece(new ChessPosition(y, x));
-                if (newSpot == null) {
-                    possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(y, x), null));
-                    x++;
-                    y--;
-                }
-                else if (newSpot.getTeamColor() != pieceColor) { // Is piece in the way an opponent... if so, add to list then exit loop
-                    possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(y, x), null));
-                    x = 9;
-                    y = 0;
-                }
-                else { // Assuming piece in the way is on our team... exit loop
-                    x = 9;
-                    y = 0;
-                }
-            }
-        }
-
-
-        else if (piece.getPieceType() == PieceType.KING) {
-            // Top left
-            if ((startingY + 1) > 0 && (startingY + 1) < 9 && (startingX -1) > 0 && (startingX - 1) < 9) { // Check if new spot in bounds first
-                if (board.getPiece(new ChessPosition(startingY + 1, startingX - 1)) == null) { // Checking if top left empty
-                    possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(startingY + 1, startingX - 1), null));
-                }
-                else {
-                    ChessPiece newSpot = board.getPiece(new ChessPosition(startingY + 1, startingX - 1));
-                    if (newSpot.getTeamColor() != pieceColor) { // If piece in the way is an opponent... add their spot to the list
-                        possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(startingY + 1, startingX - 1), null));
-                    }
-                }
-            }
-            // Top middle
-            if ((startingY + 1) > 0 && (startingY + 1) < 9) { // Check if new spot in bounds
-                if (board.getPiece(new ChessPosition(startingY + 1, startingX)) == null) { // Checking if empty... if so, add to list
-                    possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(startingY + 1, startingX), null));
-                }
-                else {
-                    ChessPiece newSpot = board.getPiece(new ChessPosition(startingY + 1, startingX));
-                    if (newSpot.getTeamColor() != pieceColor) { // If piece in the way is an opponent... add their spot to the list
-                        possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(startingY + 1, startingX), null));
-                    }
-                }
-            }
-            // Top right
-            if ((startingY + 1) > 0 && (startingY + 1) < 9 && (startingX + 1) > 0 && (startingX + 1) < 9) { // Check if new spot in bounds
-                if (board.getPiece(new ChessPosition(startingY + 1, startingX + 1)) == null) { // Checking if empty... if so, add to list
-                    possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(startingY + 1, startingX + 1), null));
-                }
-                else {
-                    ChessPiece newSpot = board.getPiece(new ChessPosition(startingY + 1, startingX + 1));
-                    if (newSpot.getTeamColor() != pieceColor) { // If piece in the way is an opponent... add their spot to the list
-                        possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(startingY + 1, startingX + 1), null));
-                    }
-                }
-            }
-            // Middle left
-            if ((startingX - 1) > 0 && (startingX - 1) < 9) { // Check if new spot in bounds
-                if (board.getPiece(new ChessPosition(startingY, startingX - 1)) == null) { // Checking if empty... if so, add to list
-                    possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(startingY, startingX - 1), null));
-                }
-                else {
-                    ChessPiece newSpot = board.getPiece(new ChessPosition(startingY, startingX - 1));
-                    if (newSpot.getTeamColor() != pieceColor) { // If piece in the way is an opponent... add their spot to the list
-                        possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(startingY, startingX - 1), null));
-                    }
-                }
-            }
-            // Middle right
-            if ((startingX + 1) > 0 && (startingX + 1) < 9) { // Check if new spot in bounds
-                if (board.getPiece(new ChessPosition(startingY, startingX + 1)) == null) { // Checking if empty... if so, add to list
-                    possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(startingY, startingX + 1), null));
-                }
-                else {
-                    ChessPiece newSpot = board.getPiece(new ChessPosition(startingY, startingX + 1));
-                    if (newSpot.getTeamColor() != pieceColor) { // If piece in the way is an opponent... add their spot to the list
-                        possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(startingY, startingX + 1), null));
-                    }
-                }
-            }
-            // Bottom left
-            if ((startingY - 1) > 0 && (startingY - 1) < 9 && (startingX - 1) > 0 && (startingX - 1) < 9) { // Check if new spot in bounds
-                if (board.getPiece(new ChessPosition(startingY - 1, startingX - 1)) == null) { // Checking if empty... if so, add to list
-                    possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(startingY - 1, startingX - 1), null));
-                }
-                else {
-                    ChessPiece newSpot = board.getPiece(new ChessPosition(startingY - 1, startingX - 1));
-                    if (newSpot.getTeamColor() != pieceColor) { // If piece in the way is an opponent... add their spot to the list
-                        possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(startingY - 1, startingX - 1), null));
-                    }
-                }
-            }
-            // Bottom middle
-            if ((startingY - 1) > 0 && (startingY - 1) < 9) { // Check if new spot in bounds
-                if (board.getPiece(new ChessPosition(startingY - 1, startingX)) == null) { // Checking if empty... if so, add to list
-                    possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(startingY - 1, startingX), null));
-                }
-                else {
-                    ChessPiece newSpot = board.getPiece(new ChessPosition(startingY - 1, startingX));
-                    if (newSpot.getTeamColor() != pieceColor) { // If piece in the way is an opponent... add their spot to the list
-                        possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(startingY - 1, startingX), null));
-                    }
-                }
-            }
-            // Bottom right
-            if ((startingY - 1) > 0 && (startingY - 1) < 9 && (startingX + 1) > 0 && (startingX + 1) < 9) { // Check if new spot in bounds
-                if (board.getPiece(new ChessPosition(startingY - 1, startingX + 1)) == null) { // Checking if empty... if so, add to list
-                    possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(startingY - 1, startingX + 1), null));
-                }
-                else {
-                    ChessPiece newSpot = board.getPiece(new ChessPosition(startingY - 1, startingX + 1));
-                    if (newSpot.getTeamColor() != pieceColor) { // If piece in the way is an opponent... add their spot to the list
-                        possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(startingY - 1, startingX + 1), null));
-                    }
-                }
-            }
-        }
-
-
-        else if (piece.getPieceType() == PieceType.ROOK) {
-            // Check left
-            int x = startingX - 1;
-            int y = startingY;
-            while (x >= 1) {
-                ChessPiece newSpot = board.getPiece(new ChessPosition(y, x));
-                if (newSpot == null) { // Check if space is empty
-                    possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(y, x), null)); // If empty, add to list of possible moves
-                    // Decrement x
-                    x--;
-                }
-                // If not empty, check team type
-                else if (newSpot.getTeamColor() != pieceColor) { // (May have to put this.pieceColor) If they are not our team, add final spot to list before exiting
-                    possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(y, x), null));
-                    // Set x to 0 so it exits while loop
-                    x = 0;
-                } else { // Piece in the way is on our team and we exit while loop
-                    x = 0;
-                }
-            }
-            // Check right
-            x = startingX + 1;
-            while (x <= 8) {
-                ChessPiece newSpot = board.getPiece(new ChessPosition(y, x));
-                if (newSpot == null) { // Check if space is empty
-                    possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(y, x), null)); // If empty, add to list of possible moves
-                    // Increment x
-                    x++;
-                }
-                // If not empty, check team type
-                else if (newSpot.getTeamColor() != pieceColor) { // (May have to put this.pieceColor) If they are not our team, add final spot to list before exiting
-                    possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(y, x), null));
-                    // Set x to 9 so it exits while loop
-                    x = 9;
-                } else { // Piece in the way is on our team and we exit while loop
-                    x = 9;
-                }
-            }
-            // Check down
-            x = startingX;
-            y = startingY - 1;
-            while (y >= 1) {
-                ChessPiece newSpot = board.getPiece(new ChessPosition(y, x));
-                if (newSpot == null) { // Check if space is empty
-                    possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(y, x), null)); // If empty, add to list of possible moves
-                    // Increment x
-                    y--;
-                }
-                // If not empty, check team type
-                else if (newSpot.getTeamColor() != pieceColor) { // (May have to put this.pieceColor) If they are not our team, add final spot to list before exiting
-                    possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(y, x), null));
-                    // Set y to 0 so it exits while loop
-                    y = 0;
-                } else { // Piece in the way is on our team and we exit while loop
-                    y = 0;
-                }
-            }
-            // Check up
-            y = startingY + 1;
-            while (y <= 8) {
-                ChessPiece newSpot = board.getPiece(new ChessPosition(y, x));
-                if (newSpot == null) { // Check if space is empty
-                    possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(y, x), null)); // If empty, add to list of possible moves
-                    // Increment x
-                    y++;
-                }
-                // If not empty, check team type
-                else if (newSpot.getTeamColor() != pieceColor) { // (May have to put this.pieceColor) If they are not our team, add final spot to list before exiting
-                    possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(y, x), null));
-                    // Set y to 0 so it exits while loop
-                    y = 9;
-                } else { // Piece in the way is on our team and we exit while loop
-                    y = 9;
-                }
-            }
-        }
-
-
-        else if (piece.getPieceType() == PieceType.KNIGHT) {
-            // Left 2 Up 1
-            if ((startingY + 1) > 0 && (startingY + 1) < 9 && (startingX - 2) > 0 && (startingX - 2) < 9) { // Check if new spot in bounds first
-                if (board.getPiece(new ChessPosition(startingY + 1, startingX - 2)) == null) { // Checking if top left empty
-                    possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(startingY + 1, startingX - 2), null));
-                }
-                else {
-                    ChessPiece newSpot = board.getPiece(new ChessPosition(startingY + 1, startingX - 2));
-                    if (newSpot.getTeamColor() != pieceColor) { // If piece in the way is an opponent... add their spot to the list
-                        possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(startingY + 1, startingX - 2), null));
-                    }
-                }
-            }
-            // Left 1 Up 2
-            if ((startingY + 2) > 0 && (startingY + 2) < 9 && (startingX - 1) > 0 && (startingX - 1) < 9) { // Check if new spot in bounds
-                if (board.getPiece(new ChessPosition(startingY + 2, startingX - 1)) == null) { // Checking if empty... if so, add to list
-                    possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(startingY + 2, startingX - 1), null));
-                }
-                else {
-                    ChessPiece newSpot = board.getPiece(new ChessPosition(startingY + 2, startingX - 1));
-                    if (newSpot.getTeamColor() != pieceColor) { // If piece in the way is an opponent... add their spot to the list
-                        possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(startingY + 2, startingX - 1), null));
-                    }
-                }
-            }
-            // Right 1 Up 2
-            if ((startingY + 2) > 0 && (startingY + 2) < 9 && (startingX + 1) > 0 && (startingX + 1) < 9) { // Check if new spot in bounds
-                if (board.getPiece(new ChessPosition(startingY + 2, startingX + 1)) == null) { // Checking if empty... if so, add to list
-                    possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(startingY + 2, startingX + 1), null));
-                }
-                else {
-                    ChessPiece newSpot = board.getPiece(new ChessPosition(startingY + 2, startingX + 1));
-                    if (newSpot.getTeamColor() != pieceColor) { // If piece in the way is an opponent... add their spot to the list
-                        possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(startingY + 2, startingX + 1), null));
-                    }
-                }
-            }
-            // Right 2 Up 1
-            if ((startingY + 1) > 0 && (startingY + 1) < 9 && (startingX + 2) > 0 && (startingX + 2) < 9) { // Check if new spot in bounds
-                if (board.getPiece(new ChessPosition(startingY + 1, startingX + 2)) == null) { // Checking if empty... if so, add to list
-                    possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(startingY + 1, startingX + 2), null));
-                }
-                else {
-                    ChessPiece newSpot = board.getPiece(new ChessPosition(startingY + 1, startingX + 2));
-                    if (newSpot.getTeamColor() != pieceColor) { // If piece in the way is an opponent... add their spot to the list
-                        possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(startingY + 1, startingX + 2), null));
-                    }
-                }
-            }
-            // Right 2 Down 1
-            if ((startingY - 1) > 0 && (startingY - 1) < 9 && (startingX + 2) > 0 && (startingX + 2) < 9) { // Check if new spot in bounds
-                if (board.getPiece(new ChessPosition(startingY - 1, startingX + 2)) == null) { // Checking if empty... if so, add to list
-                    possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(startingY - 1, startingX + 2), null));
-                }
-                else {
-                    ChessPiece newSpot = board.getPiece(new ChessPosition(startingY - 1, startingX + 2));
-                    if (newSpot.getTeamColor() != pieceColor) { // If piece in the way is an opponent... add their spot to the list
-                        possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(startingY - 1, startingX + 2), null));
-                    }
-                }
-            }
-            // Right 1 Down 2
-            if ((startingY - 2) > 0 && (startingY - 2) < 9 && (startingX + 1) > 0 && (startingX + 1) < 9) { // Check if new spot in bounds
-                if (board.getPiece(new ChessPosition(startingY - 2, startingX + 1)) == null) { // Checking if empty... if so, add to list
-                    possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(startingY - 2, startingX + 1), null));
-                }
-                else {
-                    ChessPiece newSpot = board.getPiece(new ChessPosition(startingY - 2, startingX + 1));
-                    if (newSpot.getTeamColor() != pieceColor) { // If piece in the way is an opponent... add their spot to the list
-                        possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(startingY - 2, startingX + 1), null));
-                    }
-                }
-            }
-            // Left 1 Down 2
-            if ((startingY - 2) > 0 && (startingY - 2) < 9 && (startingX - 1) > 0 && (startingX - 1) < 9) { // Check if new spot in bounds
-                if (board.getPiece(new ChessPosition(startingY - 2, startingX - 1)) == null) { // Checking if empty... if so, add to list
-                    possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(startingY - 2, startingX - 1), null));
-                }
-                else {
-                    ChessPiece newSpot = board.getPiece(new ChessPosition(startingY - 2, startingX - 1));
-                    if (newSpot.getTeamColor() != pieceColor) { // If piece in the way is an opponent... add their spot to the list
-                        possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(startingY - 2, startingX - 1), null));
-                    }
-                }
-            }
-            // Left 2 Down 1
-            if ((startingY - 1) > 0 && (startingY - 1) < 9 && (startingX - 2) > 0 && (startingX - 2) < 9) { // Check if new spot in bounds
-                if (board.getPiece(new ChessPosition(startingY - 1, startingX - 2)) == null) { // Checking if empty... if so, add to list
-                    possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(startingY - 1, startingX - 2), null));
-                }
-                else {
-                    ChessPiece newSpot = board.getPiece(new ChessPosition(startingY - 1, startingX - 2));
-                    if (newSpot.getTeamColor() != pieceColor) { // If piece in the way is an opponent... add their spot to the list
-                        possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(startingY - 1, startingX - 2), null));
-                    }
-                }
-            }
-        }
-
-
-        else if (piece.getPieceType() == PieceType.QUEEN) {
-            // Check top right
-            int x = startingX + 1;
-            int y = startingY + 1;
-            while (x <= 8 && y <= 8) {
-                // MAKE SURE ChessPosition(y, x) not (x, y)
-                ChessPiece newSpot = board.getPiece(new ChessPosition(y, x));
-                if (newSpot == null) { // Check if space is empty
-                    possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(y, x), null)); // If empty, add to list of possible moves
-                    // Increment x and y
-                    x++;
-                    y++;
-                }
-                // If not empty, check team type
-                else if (newSpot.getTeamColor() != pieceColor) { // (May have to put this.pieceColor) If they are not our team, add final spot to list before exiting
-                    possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(y, x), null));
-                    // Set x and y to 9 so it exits while loop
-                    x = 9;
-                    y = 9;
-                }
-                else { // Piece in the way is on our team and we exit while loop
-                    x = 9;
-                    y = 9;
-                }
-            }
-            // Check top left
-            x = startingX - 1;
-            y = startingY + 1;
-            while (x >= 1 && y <= 8) {
-                ChessPiece newSpot = board.getPiece(new ChessPosition(y, x));
-                if (newSpot == null) { // Is potential free space empty... if so, add to list
-                    possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(y, x), null));
-                    x--;
-                    y++;
-                }
-                else if (newSpot.getTeamColor() != pieceColor) { // Is piece in the way an opponent... if so, add to list then exit loop
-                    possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(y, x), null));
-                    x = 0;
-                    y = 9;
-                }
-                else { // Assuming piece in the way is on our team... exit loop
-                    x = 0;
-                    y = 9;
-                }
-            }
-            // Check bottom left
-            x = startingX - 1;
-            y = startingY - 1;
-            while (x >= 1 && y >= 1) {
-                ChessPiece newSpot = board.getPiece(new ChessPosition(y, x));
-                if (newSpot == null) {
-                    possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(y, x), null));
-                    x--;
-                    y--;
-                }
-                else if (newSpot.getTeamColor() != pieceColor) { // Is piece in the way an opponent... if so, add to list then exit loop
-                    possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(y, x), null));
-                    x = 0;
-                    y = 0;
-                }
-                else { // Assuming piece in the way is on our team... exit loop
-                    x = 0;
-                    y = 0;
-                }
-            }
-            // Check bottom right
-            x = startingX + 1;
-            y = startingY - 1;
-            while (x <= 8 && y >= 1) {
-                ChessPiece newSpot = board.getPiece(new ChessPosition(y, x));
-                if (newSpot == null) {
-                    possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(y, x), null));
-                    x++;
-                    y--;
-                }
-                else if (newSpot.getTeamColor() != pieceColor) { // Is piece in the way an opponent... if so, add to list then exit loop
-                    possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(y, x), null));
-                    x = 9;
-                    y = 0;
-                }
-                else { // Assuming piece in the way is on our team... exit loop
-                    x = 9;
-                    y = 0;
-                }
-            }
-            // Check left
-            x = startingX - 1;
-            y = startingY;
-            while (x >= 1) {
-                ChessPiece newSpot = board.getPiece(new ChessPosition(y, x));
-                if (newSpot == null) { // Check if space is empty
-                    possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(y, x), null)); // If empty, add to list of possible moves
-                    // Decrement x
-                    x--;
-                }
-                // If not empty, check team type
-                else if (newSpot.getTeamColor() != pieceColor) { // (May have to put this.pieceColor) If they are not our team, add final spot to list before exiting
-                    possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(y, x), null));
-                    // Set x to 0 so it exits while loop
-                    x = 0;
-                } else { // Piece in the way is on our team and we exit while loop
-                    x = 0;
-                }
-            }
-            // Check right
-            x = startingX + 1;
-            while (x <= 8) {
-                ChessPiece newSpot = board.getPiece(new ChessPosition(y, x));
-                if (newSpot == null) { // Check if space is empty
-                    possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(y, x), null)); // If empty, add to list of possible moves
-                    // Increment x
-                    x++;
-                }
-                // If not empty, check team type
-                else if (newSpot.getTeamColor() != pieceColor) { // (May have to put this.pieceColor) If they are not our team, add final spot to list before exiting
-                    possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(y, x), null));
-                    // Set x to 9 so it exits while loop
-                    x = 9;
-                } else { // Piece in the way is on our team and we exit while loop
-                    x = 9;
-                }
-            }
-            // Check down
-            x = startingX;
-            y = startingY - 1;
-            while (y >= 1) {
-                ChessPiece newSpot = board.getPiece(new ChessPosition(y, x));
-                if (newSpot == null) { // Check if space is empty
-                    possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(y, x), null)); // If empty, add to list of possible moves
-                    // Increment x
-                    y--;
-                }
-                // If not empty, check team type
-                else if (newSpot.getTeamColor() != pieceColor) { // (May have to put this.pieceColor) If they are not our team, add final spot to list before exiting
-                    possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(y, x), null));
-                    // Set y to 0 so it exits while loop
-                    y = 0;
-                } else { // Piece in the way is on our team and we exit while loop
-                    y = 0;
-                }
-            }
-            // Check up
-            y = startingY + 1;
-            while (y <= 8) {
-                ChessPiece newSpot = board.getPiece(new ChessPosition(y, x));
-                if (newSpot == null) { // Check if space is empty
-                    possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(y, x), null)); // If empty, add to list of possible moves
-                    // Increment x
-                    y++;
-                }
-                // If not empty, check team type
-                else if (newSpot.getTeamColor() != pieceColor) { // (May have to put this.pieceColor) If they are not our team, add final spot to list before exiting
-                    possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(y, x), null));
-                    // Set y to 0 so it exits while loop
-                    y = 9;
-                } else { // Piece in the way is on our team and we exit while loop
-                    y = 9;
-                }
-            }
-        }
-
-
-        else if (piece.getPieceType() == PieceType.PAWN) {
-            List<PieceType> upgrades = List.of(PieceType.QUEEN, PieceType.ROOK, PieceType.BISHOP, PieceType.KNIGHT);
-            if (pieceColor == ChessGame.TeamColor.WHITE) {
-                if ((startingY + 1) <=8) { // Check if space in front is in bounds, then check if at the end to change null
-                    ChessPiece newSpot1 = board.getPiece(new ChessPosition(startingY + 1, startingX));
-                    if (newSpot1 == null) { // Check if space is empty
-                        if ((startingY + 1) == 8) {
-                            for (PieceType upgrade : upgrades) {
-                                possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(startingY + 1, startingX), upgrade));
-                            }
-                        }
-                        else {
-                            possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(startingY + 1, startingX), null));
-                        }
-                    }
-                }
-                if (startingY == 2) { // Check starting location
-                    ChessPiece newSpot2 = board.getPiece(new ChessPosition(startingY + 2, startingX));
-                    ChessPiece steppingStone = board.getPiece(new ChessPosition(startingY + 1, startingX));
-                    if (newSpot2 == null && steppingStone == null) { // Check if space is empty
-                        possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(startingY + 2, startingX), null));
-                    }
-                }
-                if ((startingY + 1) <= 8 && (startingX - 1) >= 1) { // Check if diagonal, then check if at end to change null
-                    ChessPiece attackSpot1 = board.getPiece(new ChessPosition(startingY + 1, startingX - 1));
-                    if (attackSpot1 != null && attackSpot1.getTeamColor() != pieceColor) { // Check if in bounds
-                        if ((startingY + 1) == 8) {
-                            for (PieceType upgrade : upgrades) {
-                                possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(startingY + 1, startingX - 1), upgrade));
-                            }
-                        }
-                        else {
-                            possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(startingY + 1, startingX - 1), null));
-                        }
-                    }
-                }
-                if ((startingY + 1) <= 8 && (startingX + 1) <= 8) { // Same as above
-                    ChessPiece attackSpot2 = board.getPiece(new ChessPosition(startingY + 1, startingX + 1));
-                    if (attackSpot2 != null && attackSpot2.getTeamColor() != pieceColor) { // Check if in bounds
-                        if ((startingY + 1) == 8) {
-                            for (PieceType upgrade : upgrades) {
-                                possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(startingY + 1, startingX - 1), upgrade));
-                            }
-                        }
-                        else {
-                            possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(startingY + 1, startingX - 1), null));
-                        }
-                    }
-                }
-            }
-            else if (pieceColor == ChessGame.TeamColor.BLACK) {
-                if ((startingY - 1) >= 1) {
-                    ChessPiece newSpot1 = board.getPiece(new ChessPosition(startingY - 1, startingX));
-                    if (newSpot1 == null) {
-                        if ((startingY - 1) == 1) {
-                            for (PieceType upgrade : upgrades) {
-                                possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(startingY - 1, startingX), upgrade));
-                            }
-                        }
-                        else {
-                            possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(startingY - 1, startingX), null));
-                        }
-                    }
-                }
-                if (startingY == 7) { // Check starting location
-                    ChessPiece newSpot2 = board.getPiece(new ChessPosition(startingY - 2, startingX));
-                    ChessPiece steppingStone = board.getPiece(new ChessPosition(startingY-1, startingX));
-                    if (newSpot2 == null && steppingStone == null) {
-                        possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(startingY - 2, startingX), null));
-                    }
-                }
-                if ((startingY - 1) >= 1 && (startingX - 1) >= 1) {
-                    ChessPiece attackSpot1 = board.getPiece(new ChessPosition(startingY - 1, startingX - 1));
-                    if (attackSpot1 != null && attackSpot1.getTeamColor() != pieceColor) { // Check if in bounds
-                        if ((startingY - 1) == 1) {
-                            for (PieceType upgrade : upgrades) {
-                                possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(startingY - 1, startingX - 1), upgrade));
-                            }
-                        }
-                        else {
-                            possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(startingY - 1, startingX - 1), null));
-                        }
-                    }
-                }
-                if ((startingY - 1) >= 1 && (startingX + 1) <= 8) {
-                    ChessPiece attackSpot2 = board.getPiece(new ChessPosition(startingY - 1, startingX + 1));
-                    if (attackSpot2 != null && attackSpot2.getTeamColor() != pieceColor) { // Check if in bounds
-                        if ((startingY - 1) == 1) {
-                            for (PieceType upgrade : upgrades) {
-                                possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(startingY - 1, startingX + 1), upgrade));
-                            }
-                        }
-                        else {
-                            possibleMoves.add(new ChessMove(new ChessPosition(startingY, startingX), new ChessPosition(startingY - 1, startingX + 1), null));
-                        }
-                    }
-                }
-            }
-        }
-
+        MoveList moves = new MoveList(32); // No piece has more than 27 moves, plus room for pawn promotions
+        pieceMoves(board, myPosition, moves);
+        return moves.toChessMoves();
+    }
 
-        return possibleMoves;
+    /**
+     * Same as pieceMoves(board, myPosition), but appends the moves to a caller-owned list as packed
+     * moves (see PackedMove) instead of building a new collection. Reusing one list across calls
+     * generates moves without allocating
+     *
+     * @param moves list the moves are appended to. It is not cleared first
+     */
+    public void pieceMoves(ChessBoard board, ChessPosition myPosition, MoveList moves) {
+        MoveGenerator.pseudoLegalMoves(board, myPosition.getSquare(), pieceColor, type, moves);
     }
 }
@@ -1,6 +1,6 @@
 package chess;
 
-import java.util.Objects;
+import com.google.gson.annotations.JsonAdapter;
 
 /**
  * Represents a single square position on a chess board
@@ -8,8 +8,18 @@ import java.util.Objects;
  * Note: You can add to this class, but you may not alter
  * signature of the existing methods.
  */
+@JsonAdapter(ChessPositionAdapter.class)
 public class ChessPosition {
 
+    // One shared instance per square, indexed by getSquare()
+    private static final ChessPosition[] SQUARES = new ChessPosition[64];
+
+    static {
+        for (int square = 0; square < 64; square++) {
+            SQUARES[square] = new ChessPosition(square / 8 + 1, square % 8 + 1);
+        }
+    }
+
     private final int row;
     private final int col;
 
@@ -18,6 +28,27 @@ public class ChessPosition {
         this.col = col;
     }
 
+    /**
+     * Gets the shared position for a square instead of allocating a new one.
+     * Rows and columns off the board still get a fresh position, just like the constructor
+     *
+     * @return the position at the given row and column
+     */
+    public static ChessPosition of(int row, int col) {
+        if (row < 1 || row > 8 || col < 1 || col > 8) {
+            return new ChessPosition(row, col);
+        }
+        return SQUARES[(row - 1) * 8 + (col - 1)];
+    }
+
+    /**
+     * @param square 0-63 square index, see getSquare()
+     * @return the shared position for that square
+     */
+    public static ChessPosition ofSquare(int square) {
+        return SQUARES[square];
+    }
+
     /**
      * @return which row this position is in
      * 1 codes for the bottom row
@@ -34,6 +65,14 @@ public class ChessPosition {
         return col;
     }
 
+    /**
+     * @return this position packed into a 0-63 square index. Row 1 column 1 is 0,
+     * row 1 column 8 is 7 and row 8 column 8 is 63
+     */
+    public int getSquare() {
+        return (row - 1) * 8 + (col - 1);
+    }
+
 
     @Override
     public String toString() {
@@ -51,6 +90,6 @@ public class ChessPosition {
 
     @Override
     public int hashCode() {
-        return Objects.hash(row, col);
+        return 31 * row + col;
     }
 }
@@ -0,0 +1,245 @@
+package chess;
+
+/**
+ * Reads and writes Forsyth-Edwards Notation, e.g. the starting position
+ * <pre>rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1</pre>
+ * Both directions walk the text one character at a time with no regular expressions, splitting or
+ * intermediate strings, so a position costs little more than the board it fills in
+ */
+final class Fen {
+
+    static final String START = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+    // FEN letter for each ChessBoard.pieceIndex()
+    private static final char[] LETTERS = {'K', 'Q', 'B', 'N', 'R', 'P', 'k', 'q', 'b', 'n', 'r', 'p'};
+
+    private Fen() {
+    }
+
+    /**
+     * Everything after the piece placement may be left out. Missing fields default to white to move, no
+     * castling, no en passant square, a halfmove clock of 0 and move 1
+     *
+     * @throws IllegalArgumentException if the text isn't a valid FEN position
+     */
+    static ChessGame parse(CharSequence fen) {
+        int length = fen.length();
+        int i = skipSpaces(fen, 0);
+        ChessBoard board = new ChessBoard();
+
+        int row = 7;
+        int col = 0;
+        for (; i < length && fen.charAt(i) != ' '; i++) {
+            char c = fen.charAt(i);
+            if (c == '/') {
+                if (col != 8 || row == 0) {
+                    throw invalid(fen, "row " + (row + 1) + " doesn't have 8 squares");
+                }
+                row--;
+                col = 0;
+            }
+            else if (c >= '1' && c <= '8') {
+                col += c - '0';
+            }
+            else {
+                int index = pieceIndex(c);
+                if (index < 0) {
+                    throw invalid(fen, "unknown piece '" + c + "'");
+                }
+                if (col >= 8) {
+                    throw invalid(fen, "row " + (row + 1) + " has more than 8 squares");
+                }
+                board.addPiece(ChessPosition.ofSquare(row * 8 + col), ChessPiece.ofIndex(index));
+                col++;
+            }
+            if (col > 8) {
+                throw invalid(fen, "row " + (row + 1) + " has more than 8 squares");
+            }
+        }
+        if (row != 0 || col != 8) {
+            throw invalid(fen, "the board doesn't have 8 full rows");
+        }
+
+        ChessGame.TeamColor turn = ChessGame.TeamColor.WHITE;
+        i = skipSpaces(fen, i);
+        if (i < length) {
+            char c = fen.charAt(i++);
+            if (c == 'b') {
+                turn = ChessGame.TeamColor.BLACK;
+            }
+            else if (c != 'w') {
+                throw invalid(fen, "side to move must be w or b");
+            }
+            i = endOfField(fen, i);
+        }
+
+        int rights = 0;
+        i = skipSpaces(fen, i);
+        if (i < length) {
+            if (fen.charAt(i) == '-') {
+                i = endOfField(fen, i + 1);
+            }
+            for (; i < length && fen.charAt(i) != ' '; i++) {
+                int right = switch (fen.charAt(i)) {
+                    case 'K' -> ChessBoard.WHITE_KINGSIDE_CASTLING;
+                    case 'Q' -> ChessBoard.WHITE_QUEENSIDE_CASTLING;
+                    case 'k' -> ChessBoard.BLACK_KINGSIDE_CASTLING;
+                    case 'q' -> ChessBoard.BLACK_QUEENSIDE_CASTLING;
+                    default -> throw invalid(fen, "unknown castling right '" + fen.charAt(i) + "'");
+                };
+                if ((rights & right) != 0) {
+                    throw invalid(fen, "castling right '" + fen.charAt(i) + "' given twice");
+                }
+                rights |= right;
+            }
+        }
+        board.castlingRights = rights;
+
+        i = skipSpaces(fen, i);
+        if (i < length) {
+            if (fen.charAt(i) == '-') {
+                i = endOfField(fen, i + 1);
+            }
+            else {
+                char file = fen.charAt(i);
+                char rank = i + 1 < length ? fen.charAt(i + 1) : ' ';
+                // The square was skipped by the other team's pawn on the last move, so it is on row 6 with
+                // white to move and row 3 with black to move, and that pawn stands just past it
+                char expected = turn == ChessGame.TeamColor.WHITE ? '6' : '3';
+                if (file < 'a' || file > 'h' || rank != expected) {
+                    throw invalid(fen, "en passant square must be on row " + expected);
+                }
+                int square = (rank - '1') * 8 + (file - 'a');
+                int pawnSquare = turn == ChessGame.TeamColor.WHITE ? square - 8 : square + 8;
+                int theirPawn = (1 - turn.ordinal()) * 6 + ChessPiece.PieceType.PAWN.ordinal();
+                if (board.pieceIndexAt(pawnSquare) != theirPawn || board.pieceIndexAt(square) >= 0) {
+                    throw invalid(fen, "no pawn just moved past en passant square " + file + rank);
+                }
+                board.enPassantSquare = square;
+                i = endOfField(fen, i + 2);
+            }
+        }
+
+        int halfmoveClock = 0;
+        i = skipSpaces(fen, i);
+        if (i < length) {
+            halfmoveClock = parseNumber(fen, i);
+            i = endOfField(fen, skipDigits(fen, i));
+        }
+        int fullmoveNumber = 1;
+        i = skipSpaces(fen, i);
+        if (i < length) {
+            fullmoveNumber = Math.max(parseNumber(fen, i), 1);
+            i = endOfField(fen, skipDigits(fen, i));
+        }
+        if (skipSpaces(fen, i) < length) {
+            throw invalid(fen, "unexpected text after the move number");
+        }
+        return new ChessGame(board, turn, halfmoveClock, fullmoveNumber);
+    }
+
+    static String format(ChessGame game) {
+        ChessBoard board = game.getBoard();
+        StringBuilder fen = new StringBuilder(90);
+        for (int row = 7; row >= 0; row--) {
+            int empty = 0;
+            for (int col = 0; col < 8; col++) {
+                int index = board.pieceIndexAt(row * 8 + col);
+                if (index < 0) {
+                    empty++;
+                    continue;
+                }
+                if (empty > 0) {
+                    fen.append((char) ('0' + empty));
+                    empty = 0;
+                }
+                fen.append(LETTERS[index]);
+            }
+            if (empty > 0) {
+                fen.append((char) ('0' + empty));
+            }
+            if (row > 0) {
+                fen.append('/');
+            }
+        }
+
+        fen.append(game.getTeamTurn() == ChessGame.TeamColor.WHITE ? " w " : " b ");
+        int rights = board.usableCastlingRights();
+        if (rights == 0) {
+            fen.append('-');
+        }
+        else {
+            if ((rights & ChessBoard.WHITE_KINGSIDE_CASTLING) != 0) {
+                fen.append('K');
+            }
+            if ((rights & ChessBoard.WHITE_QUEENSIDE_CASTLING) != 0) {
+                fen.append('Q');
+            }
+            if ((rights & ChessBoard.BLACK_KINGSIDE_CASTLING) != 0) {
+                fen.append('k');
+            }
+            if ((rights & ChessBoard.BLACK_QUEENSIDE_CASTLING) != 0) {
+                fen.append('q');
+            }
+        }
+
+        fen.append(' ');
+        int enPassant = board.enPassantSquare;
+        if (enPassant < 0) {
+            fen.append('-');
+        }
+        else {
+            fen.append((char) ('a' + enPassant % 8)).append((char) ('1' + enPassant / 8));
+        }
+        return fen.append(' ').append(game.getHalfmoveClock()).append(' ').append(game.getFullmoveNumber()).toString();
+    }
+
+    private static int pieceIndex(char c) {
+        for (int index = 0; index < LETTERS.length; index++) {
+            if (LETTERS[index] == c) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private static int parseNumber(CharSequence fen, int i) {
+        int end = skipDigits(fen, i);
+        if (end == i || end - i > 9) {
+            throw invalid(fen, "expected a move count");
+        }
+        int value = 0;
+        for (; i < end; i++) {
+            value = value * 10 + (fen.charAt(i) - '0');
+        }
+        return value;
+    }
+
+    private static int skipDigits(CharSequence fen, int i) {
+        while (i < fen.length() && fen.charAt(i) >= '0' && fen.charAt(i) <= '9') {
+            i++;
+        }
+        return i;
+    }
+
+    private static int skipSpaces(CharSequence fen, int i) {
+        while (i < fen.length() && fen.charAt(i) == ' ') {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * @return i, after making sure the field ends there
+     */
+    private static int endOfField(CharSequence fen, int i) {
+        if (i < fen.length() && fen.charAt(i) != ' ') {
+            throw invalid(fen, "unexpected '" + fen.charAt(i) + "'");
+        }
+        return i;
+    }
+
+    private static IllegalArgumentException invalid(CharSequence fen, String reason) {
+        return new IllegalArgumentException("Invalid FEN \"" + fen + "\": " + reason);
+    }
+}
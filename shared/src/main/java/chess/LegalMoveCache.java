@@ -0,0 +1,99 @@
+package chess;
+
+import java.util.Arrays;
+
+/**
+ * Every legal move of one team's pieces for the last position it was asked about, grouped by start square.
+ * A team's moves are generated the first time they are asked for and reused for as long as the board
+ * object and its Zobrist key stay the same, so asking about every square of the same position generates
+ * the moves once. Any change to the board, through ChessGame or directly, changes the key and the next
+ * question regenerates them
+ */
+final class LegalMoveCache {
+
+    // A game can sit in memory for a long time after it was last asked about, so everything here is created
+    // the first time a team's moves are generated and starts small: most positions have under 64 moves,
+    // and the lists grow for the few that don't
+    private final MoveList[] moves = new MoveList[2];
+    // Per team and square, the range of moves[team] holding the moves of the piece on that square: the
+    // first index in the low 16 bits and the index just past the last in the high 16 bits
+    private final int[][] ranges = new int[2][];
+    // What each team's moves were generated for. A null board means nothing has been generated yet
+    private final ChessBoard[] boards = new ChessBoard[2];
+    private final long[] keys = new long[2];
+    // Working space for hasMoves when the moves aren't cached
+    private MoveList scratch;
+
+    /**
+     * @return every legal move for the team's pieces on the board as it is now, Owned by the
+     * cache, so callers must not change it
+     */
+    MoveList moves(ChessBoard board, int color) {
+        long key = board.zobristKey();
+        if (boards[color] != board || keys[color] != key) {
+            generate(board, color);
+            boards[color] = board;
+            keys[color] = key;
+        }
+        return moves[color];
+    }
+
+    /**
+     * @return True if the team has a legal move on the board as it is now. Answered from the cached moves if
+     * they are up to date, otherwise by looking for just one legal move without caching anything
+     */
+    boolean hasMoves(ChessBoard board, int color) {
+        if (boards[color] == board && keys[color] == board.zobristKey()) {
+            return !moves[color].isEmpty();
+        }
+        if (scratch == null) {
+            scratch = new MoveList(32);
+        }
+        return MoveGenerator.hasLegalMove(board, color, scratch);
+    }
+
+    /**
+     * @return index in moves(board, color) of the first move of the piece on square. Only valid right after
+     * moves() was called for the same board and color
+     */
+    int start(int color, int square) {
+        return ranges[color][square] & 0xFFFF;
+    }
+
+    /**
+     * @return index in moves(board, color) just past the last move of the piece on square
+     */
+    int end(int color, int square) {
+        return ranges[color][square] >>> 16;
+    }
+
+    /**
+     * Forgets everything, so the next question regenerates the moves
+     */
+    void clear() {
+        boards[0] = null;
+        boards[1] = null;
+    }
+
+    private void generate(ChessBoard board, int color) {
+        if (moves[color] == null) {
+            moves[color] = new MoveList(64);
+            ranges[color] = new int[64];
+        }
+        MoveList list = moves[color];
+        int[] squares = ranges[color];
+        list.clear();
+        MoveGenerator.allLegalMoves(board, color, list);
+        Arrays.fill(squares, 0); // Squares without moves get an empty range
+        int previous = -1;
+        int first = 0;
+        for (int i = 0; i < list.size(); i++) { // Each piece's moves are next to each other
+            int from = PackedMove.from(list.get(i));
+            if (from != previous) {
+                first = i;
+                previous = from;
+            }
+            squares[from] = first | ((i + 1) << 16);
+        }
+    }
+}
@@ -0,0 +1,332 @@
+package chess;
+
+/**
+ * Generates packed moves (see PackedMove) straight from a ChessBoard's bitboards into a MoveList.
+ * Nothing here allocates, so a caller that reuses its MoveList generates moves without creating garbage
+ */
+final class MoveGenerator {
+
+    private static final int KING = ChessPiece.PieceType.KING.ordinal();
+    private static final int QUEEN = ChessPiece.PieceType.QUEEN.ordinal();
+    private static final int BISHOP = ChessPiece.PieceType.BISHOP.ordinal();
+    private static final int KNIGHT = ChessPiece.PieceType.KNIGHT.ordinal();
+    private static final int ROOK = ChessPiece.PieceType.ROOK.ordinal();
+    private static final int PAWN = ChessPiece.PieceType.PAWN.ordinal();
+    // values() copies its array on every call, so keep one copy around
+    private static final ChessGame.TeamColor[] COLORS = ChessGame.TeamColor.values();
+    private static final ChessPiece.PieceType[] TYPES = ChessPiece.PieceType.values();
+
+    private MoveGenerator() {
+    }
+
+    /**
+     * Appends every legal move of one team's pieces, including castling and en passant. Each piece's moves come
+     * out next to each other.
+     * <p>
+     * Rather than playing each candidate and testing for check, the position is analysed once for the whole
+     * team: which enemy pieces give check, and which of our pieces are pinned to the king. A non-king move is
+     * then legal exactly when it lands on a square that blocks or captures the single checker (if there is one)
+     * and stays on the pin line (if the piece is pinned). In double check only the king is looked at, and king
+     * moves only need their destination checked for attackers. En passant, which removes two pieces from a row
+     * at once, gets an exact occupancy test of its own
+     *
+     * @param board board to generate on
+     * @param color ordinal of the team to move
+     * @param moves list the moves are appended to
+     */
+    static void allLegalMoves(ChessBoard board, int color, MoveList moves) {
+        int kingSquare = board.kingSquare(color);
+        long checkers = 0L;
+        long pinned = 0L;
+        if (kingSquare >= 0) {
+            checkers = board.attackersOf(kingSquare, 1 - color, board.occupied);
+            if (Long.bitCount(checkers) > 1) {
+                legalMoves(board, kingSquare, color * 6 + KING, kingSquare, checkers, 0L, moves);
+                return;
+            }
+            pinned = pinnedPieces(board, kingSquare, color);
+        }
+        for (int i = 0; i < board.pieceCount(color); i++) {
+            int square = board.pieceSquare(color, i);
+            legalMoves(board, square, board.pieceIndexAt(square), kingSquare, checkers, pinned, moves);
+        }
+    }
+
+    /**
+     * Determines whether a team has at least one legal move, stopping at the first one found instead of
+     * generating them all. The king goes first, since it usually has a move and in double check nothing else
+     * needs to be looked at. Every other piece is then tried in turn, so outside of checkmate and stalemate
+     * this usually costs one or two pieces' worth of generation
+     *
+     * @param board   board to look at
+     * @param color   ordinal of the team to move
+     * @param scratch list used for generating, cleared before use
+     * @return True if the team has a legal move
+     */
+    static boolean hasLegalMove(ChessBoard board, int color, MoveList scratch) {
+        int kingSquare = board.kingSquare(color);
+        long checkers = 0L;
+        long pinned = 0L;
+        if (kingSquare >= 0) {
+            checkers = board.attackersOf(kingSquare, 1 - color, board.occupied);
+            scratch.clear();
+            legalMoves(board, kingSquare, color * 6 + KING, kingSquare, checkers, 0L, scratch);
+            if (!scratch.isEmpty()) {
+                return true;
+            }
+            if (Long.bitCount(checkers) > 1) {
+                return false;
+            }
+            pinned = pinnedPieces(board, kingSquare, color);
+        }
+        for (int i = 0; i < board.pieceCount(color); i++) {
+            int square = board.pieceSquare(color, i);
+            if (square == kingSquare) {
+                continue;
+            }
+            scratch.clear();
+            legalMoves(board, square, board.pieceIndexAt(square), kingSquare, checkers, pinned, scratch);
+            if (!scratch.isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Appends the legal moves of the piece with the given pieceIndex on square, given its king's square (-1 for
+     * no king), the enemy pieces checking that king and the pieces pinned to it
+     */
+    private static void legalMoves(ChessBoard board, int square, int index, int kingSquare, long checkers,
+                                   long pinned, MoveList moves) {
+        int us = index / 6;
+        int them = 1 - us;
+        ChessGame.TeamColor color = COLORS[us];
+        ChessPiece.PieceType type = TYPES[index % 6];
+        int start = moves.size();
+
+        pseudoLegalMoves(board, square, color, type, moves);
+        if (kingSquare < 0) { // Without a king there is nothing to keep safe
+            if (type == ChessPiece.PieceType.PAWN) {
+                enPassantMoves(board, square, color, moves);
+            }
+            return;
+        }
+
+        if (type == ChessPiece.PieceType.KING) {
+            // The king can't step onto an attacked square. It is lifted off the board first so a
+            // slider checking along a line still covers the square right behind the king
+            long occupied = board.occupied ^ (1L << kingSquare);
+            int kept = start;
+            for (int i = start; i < moves.size(); i++) {
+                int move = moves.get(i);
+                if (board.attackersOf(PackedMove.to(move), them, occupied) == 0) {
+                    moves.set(kept++, move);
+                }
+            }
+            moves.truncate(kept);
+            if (checkers == 0) {
+                addSafeCastlingMoves(board, square, color, them, moves);
+            }
+            return;
+        }
+
+        if (Long.bitCount(checkers) > 1) { // Double check: only the king can do anything about it
+            moves.truncate(start);
+            return;
+        }
+        long allowed = ~0L;
+        if (checkers != 0) { // Capture the checker or step in between it and the king
+            allowed = checkers | Bitboards.BETWEEN[kingSquare][Long.numberOfTrailingZeros(checkers)];
+        }
+        if ((pinned & (1L << square)) != 0) { // Pinned pieces stay on the pin line
+            allowed &= Bitboards.LINE[kingSquare][square];
+        }
+        int kept = start;
+        for (int i = start; i < moves.size(); i++) {
+            int move = moves.get(i);
+            if ((allowed & (1L << PackedMove.to(move))) != 0) {
+                moves.set(kept++, move);
+            }
+        }
+        moves.truncate(kept);
+
+        if (type == ChessPiece.PieceType.PAWN) {
+            addSafeEnPassantMoves(board, square, color, kingSquare, moves);
+        }
+    }
+
+    /**
+     * @return our pieces that are the only thing standing between our king and an enemy slider
+     */
+    private static long pinnedPieces(ChessBoard board, int kingSquare, int us) {
+        int base = (1 - us) * 6;
+        long queens = board.pieceBoards[base + QUEEN];
+        long snipers = (Bitboards.rookAttacks(kingSquare, 0L) & (board.pieceBoards[base + ROOK] | queens))
+                | (Bitboards.bishopAttacks(kingSquare, 0L) & (board.pieceBoards[base + BISHOP] | queens));
+        long pinned = 0L;
+        while (snipers != 0) {
+            int sniper = Long.numberOfTrailingZeros(snipers);
+            snipers &= snipers - 1;
+            long blockers = Bitboards.BETWEEN[kingSquare][sniper] & board.occupied;
+            if (Long.bitCount(blockers) == 1 && (blockers & board.colorBoards[us]) != 0) {
+                pinned |= blockers;
+            }
+        }
+        return pinned;
+    }
+
+    /**
+     * Adds the castling moves where the king neither passes through nor lands on an attacked square.
+     * The caller has already made sure the king isn't in check
+     */
+    private static void addSafeCastlingMoves(ChessBoard board, int square, ChessGame.TeamColor color, int them,
+                                             MoveList moves) {
+        int start = moves.size();
+        castlingMoves(board, square, color, moves);
+        int kept = start;
+        for (int i = start; i < moves.size(); i++) {
+            int move = moves.get(i);
+            int to = PackedMove.to(move);
+            int passed = (square + to) / 2;
+            if (!board.isAttacked(passed, them) && !board.isAttacked(to, them)) {
+                moves.set(kept++, move);
+            }
+        }
+        moves.truncate(kept);
+    }
+
+    /**
+     * Adds the en passant capture if, with both pawns gone from their squares and ours on the
+     * target square, nothing attacks our king
+     */
+    private static void addSafeEnPassantMoves(ChessBoard board, int square, ChessGame.TeamColor color, int kingSquare,
+                                              MoveList moves) {
+        int start = moves.size();
+        enPassantMoves(board, square, color, moves);
+        if (moves.size() == start) {
+            return;
+        }
+        int target = PackedMove.to(moves.get(start));
+        int captured = color == ChessGame.TeamColor.WHITE ? target - 8 : target + 8;
+        long occupied = board.occupied ^ (1L << square) ^ (1L << captured) ^ (1L << target);
+        if ((board.attackersOf(kingSquare, 1 - color.ordinal(), occupied) & ~(1L << captured)) != 0) {
+            moves.truncate(start);
+        }
+    }
+
+    /**
+     * Appends every move the piece on square could make, ignoring whether it leaves its own king in check
+     *
+     * @param board  board to generate on
+     * @param square square the piece stands on
+     * @param color  the piece's team
+     * @param type   the piece's type
+     * @param moves  list the moves are appended to
+     */
+    static void pseudoLegalMoves(ChessBoard board, int square, ChessGame.TeamColor color, ChessPiece.PieceType type,
+                                 MoveList moves) {
+        long own = board.colorBoards[color.ordinal()]; // Squares our own team is standing on
+        switch (type) {
+            // Every square next to the king that isn't held by our own team
+            case KING -> addMoves(moves, square, Bitboards.KING_ATTACKS[square] & ~own);
+            // Rook and bishop rays combined
+            case QUEEN -> addMoves(moves, square, Bitboards.queenAttacks(square, board.occupied) & ~own);
+            // Diagonal rays up to the first piece in each direction, minus our own pieces
+            case BISHOP -> addMoves(moves, square, Bitboards.bishopAttacks(square, board.occupied) & ~own);
+            // Every L-shaped jump that doesn't land on our own team
+            case KNIGHT -> addMoves(moves, square, Bitboards.KNIGHT_ATTACKS[square] & ~own);
+            // Straight rays up to the first piece in each direction, minus our own pieces
+            case ROOK -> addMoves(moves, square, Bitboards.rookAttacks(square, board.occupied) & ~own);
+            case PAWN -> pawnMoves(board, square, color, moves);
+        }
+    }
+
+    /**
+     * Appends the castling moves whose rights are still held, whose king and rook are still on their starting
+     * squares and whose squares between them are empty. Whether the king starts in, passes through or lands
+     * in check is left to the caller
+     */
+    static void castlingMoves(ChessBoard board, int square, ChessGame.TeamColor color, MoveList moves) {
+        boolean white = color == ChessGame.TeamColor.WHITE;
+        int home = white ? 4 : 60; // e1 or e8
+        int king = ChessBoard.pieceIndex(color, ChessPiece.PieceType.KING);
+        if (square != home || (board.pieceBoards[king] & (1L << home)) == 0) {
+            return;
+        }
+        long rooks = board.pieceBoards[ChessBoard.pieceIndex(color, ChessPiece.PieceType.ROOK)];
+        int kingside = white ? ChessBoard.WHITE_KINGSIDE_CASTLING : ChessBoard.BLACK_KINGSIDE_CASTLING;
+        int queenside = white ? ChessBoard.WHITE_QUEENSIDE_CASTLING : ChessBoard.BLACK_QUEENSIDE_CASTLING;
+        if ((board.castlingRights & kingside) != 0 && (rooks & (1L << (home + 3))) != 0
+                && (board.occupied & (0b11L << (home + 1))) == 0) { // Two squares between king and rook
+            moves.add(PackedMove.of(home, home + 2, PackedMove.CASTLING));
+        }
+        if ((board.castlingRights & queenside) != 0 && (rooks & (1L << (home - 4))) != 0
+                && (board.occupied & (0b111L << (home - 3))) == 0) { // Three squares between king and rook
+            moves.add(PackedMove.of(home, home - 2, PackedMove.CASTLING));
+        }
+    }
+
+    /**
+     * Appends the en passant capture for a pawn on square, if the last move was an enemy double step
+     * right next to it. Whether it leaves the king in check is left to the caller
+     */
+    static void enPassantMoves(ChessBoard board, int square, ChessGame.TeamColor color, MoveList moves) {
+        int target = board.enPassantSquare;
+        // White only ever captures en passant onto row 6 and black onto row 3
+        if (target < 0 || target / 8 != (color == ChessGame.TeamColor.WHITE ? 5 : 2)) {
+            return;
+        }
+        if ((Bitboards.PAWN_ATTACKS[color.ordinal()][square] & (1L << target)) != 0) {
+            moves.add(PackedMove.of(square, target, PackedMove.EN_PASSANT));
+        }
+    }
+
+    private static void pawnMoves(ChessBoard board, int square, ChessGame.TeamColor color, MoveList moves) {
+        boolean white = color == ChessGame.TeamColor.WHITE;
+        int forward = white ? 8 : -8; // One row up for white, one row down for black
+        long empty = ~board.occupied;
+        long oneStep = 0L;
+        if (square + forward >= 0 && square + forward < 64) { // A pawn left standing on the last row has nowhere to go
+            oneStep = (1L << (square + forward)) & empty;
+        }
+        long targets = oneStep;
+        if (oneStep != 0 && square / 8 == (white ? 1 : 6)) { // Double step from the starting row if both squares are empty
+            targets |= (1L << (square + 2 * forward)) & empty;
+        }
+        long enemy = board.colorBoards[1 - color.ordinal()];
+        targets |= Bitboards.PAWN_ATTACKS[color.ordinal()][square] & enemy; // Diagonal captures
+        addPawnMoves(moves, square, targets);
+    }
+
+    /**
+     * Adds a move from square to every square set in targets
+     */
+    static void addMoves(MoveList moves, int from, long targets) {
+        while (targets != 0) {
+            int to = Long.numberOfTrailingZeros(targets); // Lowest set square
+            targets &= targets - 1; // Clear it so the next loop finds the next one
+            moves.add(PackedMove.of(from, to, PackedMove.NORMAL));
+        }
+    }
+
+    /**
+     * Adds a pawn move to every square in targets. Moves onto the last row are added
+     * once for each piece the pawn can be promoted to
+     */
+    static void addPawnMoves(MoveList moves, int from, long targets) {
+        while (targets != 0) {
+            int to = Long.numberOfTrailingZeros(targets);
+            targets &= targets - 1;
+            if (to < 8 || to >= 56) {
+                moves.add(PackedMove.promotion(from, to, ChessPiece.PieceType.QUEEN));
+                moves.add(PackedMove.promotion(from, to, ChessPiece.PieceType.ROOK));
+                moves.add(PackedMove.promotion(from, to, ChessPiece.PieceType.BISHOP));
+                moves.add(PackedMove.promotion(from, to, ChessPiece.PieceType.KNIGHT));
+            }
+            else {
+                moves.add(PackedMove.of(from, to, PackedMove.NORMAL));
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package chess;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A reusable, growable list of packed moves (see PackedMove) backed by an int array.
+ * Clearing it keeps the array, so a list that is reused never allocates once it has grown big enough
+ */
+public final class MoveList {
+
+    // No legal chess position has more than 218 moves
+    private static final int DEFAULT_CAPACITY = 256;
+
+    private int[] moves;
+    private int size;
+
+    public MoveList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public MoveList(int capacity) {
+        moves = new int[Math.max(capacity, 1)];
+    }
+
+    public void add(int move) {
+        if (size == moves.length) {
+            int[] bigger = new int[moves.length * 2];
+            System.arraycopy(moves, 0, bigger, 0, size);
+            moves = bigger;
+        }
+        moves[size++] = move;
+    }
+
+    public int get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        return moves[index];
+    }
+
+    public void set(int index, int move) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        moves[index] = move;
+    }
+
+    /**
+     * Drops every move from newSize onwards
+     */
+    public void truncate(int newSize) {
+        if (newSize < size) {
+            size = Math.max(newSize, 0);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * @return the index of the first move with the same start, end and promotion as move, or -1 if there isn't one
+     */
+    public int indexOf(int move) {
+        return indexOf(move, 0, size);
+    }
+
+    /**
+     * Same as indexOf(move), but only looks at indexes from (inclusive) to end (exclusive)
+     */
+    public int indexOf(int move, int from, int end) {
+        int key = PackedMove.key(move);
+        for (int i = from; i < Math.min(end, size); i++) {
+            if (PackedMove.key(moves[i]) == key) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return every move in the list as a ChessMove
+     */
+    public List<ChessMove> toChessMoves() {
+        return toChessMoves(0, size);
+    }
+
+    /**
+     * @return the moves at indexes from (inclusive) to end (exclusive) as ChessMoves
+     */
+    public List<ChessMove> toChessMoves(int from, int end) {
+        end = Math.min(end, size);
+        List<ChessMove> chessMoves = new ArrayList<>(Math.max(end - from, 0));
+        for (int i = from; i < end; i++) {
+            chessMoves.add(PackedMove.toChessMove(moves[i]));
+        }
+        return chessMoves;
+    }
+}
@@ -0,0 +1,312 @@
+package chess;
+
+import java.util.Arrays;
+
+/**
+ * Reads and writes moves in UCI coordinate notation (e2e4, e7e8q) and Standard Algebraic Notation
+ * (e4, Nbxd7+, exd8=Q#, O-O-O). SAN is resolved against the legal moves of the team to move in a
+ * ChessGame, which is also where disambiguation comes from. Parsing reads the CharSequence in place,
+ * one character at a time through lookup tables, without regular expressions, splitting or substrings
+ */
+public final class MoveNotation {
+
+    // PieceType.ordinal() for each upper case SAN piece letter, -1 for every other character
+    private static final byte[] PIECE_TYPES = new byte[128];
+    // PieceType for each lower case UCI promotion letter, null for every other character
+    private static final ChessPiece.PieceType[] UCI_PROMOTIONS = new ChessPiece.PieceType[128];
+    // Upper case SAN letter for each PieceType.ordinal(), pawns have none
+    private static final char[] LETTERS = {'K', 'Q', 'B', 'N', 'R', 0};
+    private static final ChessPiece.PieceType[] TYPES = ChessPiece.PieceType.values();
+
+    static {
+        Arrays.fill(PIECE_TYPES, (byte) -1);
+        for (ChessPiece.PieceType type : TYPES) {
+            char letter = LETTERS[type.ordinal()];
+            if (letter != 0) {
+                PIECE_TYPES[letter] = (byte) type.ordinal();
+                if (type != ChessPiece.PieceType.KING) {
+                    UCI_PROMOTIONS[Character.toLowerCase(letter)] = type;
+                }
+            }
+        }
+    }
+
+    private MoveNotation() {
+    }
+
+    /**
+     * Reads a move in UCI notation: start square, end square and an optional lower case promotion letter.
+     * Castling is written as the king's move, e.g. e1g1. Only the syntax is checked, not whether the move is legal
+     *
+     * @param uci the move, e.g. e2e4 or e7e8q
+     * @return the move
+     * @throws IllegalArgumentException if uci isn't a UCI move
+     */
+    public static ChessMove parseUci(CharSequence uci) {
+        int length = uci.length();
+        if (length != 4 && length != 5) {
+            throw invalid(uci, "expected 4 or 5 characters");
+        }
+        int from = square(uci, 0);
+        int to = square(uci, 2);
+        ChessPiece.PieceType promotion = null;
+        if (length == 5) {
+            char c = uci.charAt(4);
+            promotion = c < 128 ? UCI_PROMOTIONS[c] : null;
+            if (promotion == null) {
+                throw invalid(uci, "unknown promotion piece '" + c + "'");
+            }
+        }
+        if (from < 0 || to < 0) {
+            throw invalid(uci, "expected two squares");
+        }
+        return new ChessMove(ChessPosition.ofSquare(from), ChessPosition.ofSquare(to), promotion);
+    }
+
+    /**
+     * @return the move in UCI notation, e.g. e2e4 or e7e8q
+     */
+    public static String toUci(ChessMove move) {
+        StringBuilder uci = new StringBuilder(5);
+        appendSquare(uci, move.getStartPosition().getSquare());
+        appendSquare(uci, move.getEndPosition().getSquare());
+        if (move.getPromotionPiece() != null) {
+            uci.append(Character.toLowerCase(LETTERS[move.getPromotionPiece().ordinal()]));
+        }
+        return uci.toString();
+    }
+
+    /**
+     * Reads a move in SAN for the team to move in game. The piece letter, capture mark, disambiguation,
+     * promotion (with or without '=') and check or annotation marks at the end are all optional as long as
+     * exactly one legal move fits. Castling can be written with O or 0
+     *
+     * @param game game whose current position the move is played in
+     * @param san  the move, e.g. e4, Nbxd7+ or O-O
+     * @return the legal move san describes
+     * @throws IllegalArgumentException if san isn't valid SAN, or there isn't exactly one legal move that fits it
+     */
+    public static ChessMove parseSan(ChessGame game, CharSequence san) {
+        ChessBoard board = game.getBoard();
+        MoveList moves = game.currentLegalMoves();
+        int end = san.length();
+        while (end > 0 && isSuffix(san.charAt(end - 1))) {
+            end--;
+        }
+        if (end == 0) {
+            throw invalid(san, "empty move");
+        }
+
+        int castling = castlingLength(san, end);
+        if (castling > 0) {
+            boolean kingside = castling == 3;
+            for (int i = 0; i < moves.size(); i++) {
+                int move = moves.get(i);
+                if (PackedMove.flag(move) == PackedMove.CASTLING && (PackedMove.to(move) > PackedMove.from(move)) == kingside) {
+                    return PackedMove.toChessMove(move);
+                }
+            }
+            throw invalid(san, "castling isn't legal here");
+        }
+
+        int start = 0;
+        int type = ChessPiece.PieceType.PAWN.ordinal();
+        char first = san.charAt(0);
+        if (first < 128 && PIECE_TYPES[first] >= 0) {
+            type = PIECE_TYPES[first];
+            start = 1;
+        }
+
+        ChessPiece.PieceType promotion = null;
+        char last = san.charAt(end - 1);
+        if (type == ChessPiece.PieceType.PAWN.ordinal() && last < 128 && PIECE_TYPES[last] >= 0) {
+            promotion = TYPES[PIECE_TYPES[last]];
+            end--;
+            if (end > 0 && san.charAt(end - 1) == '=') {
+                end--;
+            }
+        }
+
+        if (end - start < 2) {
+            throw invalid(san, "missing the destination square");
+        }
+        int to = square(san, end - 2);
+        if (to < 0) {
+            throw invalid(san, "missing the destination square");
+        }
+        end -= 2;
+        if (end > start && san.charAt(end - 1) == 'x') {
+            end--;
+        }
+
+        int fromFile = -1;
+        int fromRow = -1;
+        for (int i = start; i < end; i++) {
+            char c = san.charAt(i);
+            if (c >= 'a' && c <= 'h' && fromFile < 0 && fromRow < 0) {
+                fromFile = c - 'a';
+            }
+            else if (c >= '1' && c <= '8' && fromRow < 0) {
+                fromRow = c - '1';
+            }
+            else {
+                throw invalid(san, "unexpected '" + c + "'");
+            }
+        }
+
+        int found = -1;
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            int from = PackedMove.from(move);
+            if (PackedMove.to(move) != to || board.pieceIndexAt(from) % 6 != type
+                    || PackedMove.promotionPiece(move) != promotion
+                    || (fromFile >= 0 && from % 8 != fromFile) || (fromRow >= 0 && from / 8 != fromRow)) {
+                continue;
+            }
+            if (found >= 0) {
+                throw invalid(san, "more than one legal move fits");
+            }
+            found = move;
+        }
+        if (found < 0) {
+            throw invalid(san, "no legal move fits");
+        }
+        return PackedMove.toChessMove(found);
+    }
+
+    /**
+     * Writes a legal move for the team to move in game in SAN, with just enough disambiguation to tell it
+     * apart from the other legal moves and a + or # if it gives check or checkmate
+     *
+     * @param game game whose current position the move is played in
+     * @param move a legal move for the team to move
+     * @return the move in SAN, e.g. Nbxd7+
+     * @throws IllegalArgumentException if move isn't legal in the game's current position
+     */
+    public static String toSan(ChessGame game, ChessMove move) {
+        ChessBoard board = game.getBoard();
+        MoveList moves = game.currentLegalMoves();
+        int index = moves.indexOf(move.toPacked());
+        if (index < 0) {
+            throw new IllegalArgumentException("Move " + toUci(move) + " isn't legal here");
+        }
+        int packed = moves.get(index);
+        int from = PackedMove.from(packed);
+        int to = PackedMove.to(packed);
+        int flag = PackedMove.flag(packed);
+        int type = board.pieceIndexAt(from) % 6;
+
+        StringBuilder san = new StringBuilder(8);
+        if (flag == PackedMove.CASTLING) {
+            san.append(to > from ? "O-O" : "O-O-O");
+        }
+        else {
+            boolean capture = flag == PackedMove.EN_PASSANT || board.pieceIndexAt(to) >= 0;
+            if (type == ChessPiece.PieceType.PAWN.ordinal()) {
+                if (capture) {
+                    san.append((char) ('a' + from % 8));
+                }
+            }
+            else {
+                san.append(LETTERS[type]);
+                appendDisambiguation(san, board, moves, packed, type);
+            }
+            if (capture) {
+                san.append('x');
+            }
+            appendSquare(san, to);
+            if (flag == PackedMove.PROMOTION) {
+                san.append('=').append(LETTERS[PackedMove.promotionPiece(packed).ordinal()]);
+            }
+        }
+
+        // Try the move on a copy to see whether it checks or mates, so the game's board is never touched
+        int them = 1 - game.getTeamTurn().ordinal();
+        ChessBoard after = board.copy();
+        after.makeMove(packed);
+        int kingSquare = after.kingSquare(them);
+        if (kingSquare >= 0 && after.isAttacked(kingSquare, 1 - them)) {
+            san.append(MoveGenerator.hasLegalMove(after, them, new MoveList(32)) ? '+' : '#');
+        }
+        return san.toString();
+    }
+
+    /**
+     * Adds the start file, row or square when another piece of the same type can also reach the destination
+     */
+    private static void appendDisambiguation(StringBuilder san, ChessBoard board, MoveList moves, int move, int type) {
+        int from = PackedMove.from(move);
+        int to = PackedMove.to(move);
+        boolean ambiguous = false;
+        boolean sameFile = false;
+        boolean sameRow = false;
+        for (int i = 0; i < moves.size(); i++) {
+            int other = moves.get(i);
+            int otherFrom = PackedMove.from(other);
+            if (PackedMove.to(other) != to || otherFrom == from || board.pieceIndexAt(otherFrom) % 6 != type) {
+                continue;
+            }
+            ambiguous = true;
+            sameFile |= otherFrom % 8 == from % 8;
+            sameRow |= otherFrom / 8 == from / 8;
+        }
+        if (!ambiguous) {
+            return;
+        }
+        if (!sameFile) {
+            san.append((char) ('a' + from % 8));
+        }
+        else if (!sameRow) {
+            san.append((char) ('1' + from / 8));
+        }
+        else {
+            appendSquare(san, from);
+        }
+    }
+
+    /**
+     * @return 3 for O-O, 5 for O-O-O (either with O or 0), or 0 if the first end characters are neither
+     */
+    private static int castlingLength(CharSequence san, int end) {
+        if (end != 3 && end != 5) {
+            return 0;
+        }
+        char o = san.charAt(0);
+        if (o != 'O' && o != '0') {
+            return 0;
+        }
+        for (int i = 1; i < end; i++) {
+            if (san.charAt(i) != (i % 2 == 1 ? '-' : o)) {
+                return 0;
+            }
+        }
+        return end;
+    }
+
+    /**
+     * @return the 0-63 square written at i and i + 1 (e.g. e4), or -1 if there isn't one
+     */
+    private static int square(CharSequence text, int i) {
+        if (i < 0 || i + 1 >= text.length()) {
+            return -1;
+        }
+        char file = text.charAt(i);
+        char row = text.charAt(i + 1);
+        if (file < 'a' || file > 'h' || row < '1' || row > '8') {
+            return -1;
+        }
+        return (row - '1') * 8 + (file - 'a');
+    }
+
+    private static void appendSquare(StringBuilder text, int square) {
+        text.append((char) ('a' + square % 8)).append((char) ('1' + square / 8));
+    }
+
+    private static boolean isSuffix(char c) {
+        return c == '+' || c == '#' || c == '!' || c == '?';
+    }
+
+    private static IllegalArgumentException invalid(CharSequence move, String reason) {
+        return new IllegalArgumentException("Invalid move \"" + move + "\": " + reason);
+    }
+}
@@ -0,0 +1,83 @@
+package chess;
+
+/**
+ * Helpers for moves packed into the low 16 bits of an int, so move generation, validation
+ * and storage can work on primitives and only build ChessMove objects when handing moves to callers.
+ * <p>
+ * Layout: bits 0-5 start square, bits 6-11 end square (see ChessPosition.getSquare()),
+ * bits 12-13 promotion piece and bits 14-15 the kind of move (one of the flags below)
+ */
+public final class PackedMove {
+
+    public static final int NORMAL = 0;
+    public static final int PROMOTION = 1;
+    public static final int EN_PASSANT = 2;
+    public static final int CASTLING = 3;
+
+    // Promotion pieces in the order they are stored in bits 12-13
+    private static final ChessPiece.PieceType[] PROMOTION_TYPES = {
+            ChessPiece.PieceType.KNIGHT, ChessPiece.PieceType.BISHOP, ChessPiece.PieceType.ROOK, ChessPiece.PieceType.QUEEN};
+
+    private PackedMove() {
+    }
+
+    /**
+     * @return a packed move of the given kind with no promotion
+     */
+    public static int of(int from, int to, int flag) {
+        return from | (to << 6) | (flag << 14);
+    }
+
+    /**
+     * @return a packed pawn move that promotes to the given piece
+     */
+    public static int promotion(int from, int to, ChessPiece.PieceType promotionPiece) {
+        return from | (to << 6) | (promotionCode(promotionPiece) << 12) | (PROMOTION << 14);
+    }
+
+    public static int from(int move) {
+        return move & 0x3F;
+    }
+
+    public static int to(int move) {
+        return (move >>> 6) & 0x3F;
+    }
+
+    public static int flag(int move) {
+        return (move >>> 14) & 0x3;
+    }
+
+    /**
+     * @return the piece a promotion move promotes to, or null for every other kind of move
+     */
+    public static ChessPiece.PieceType promotionPiece(int move) {
+        return flag(move) == PROMOTION ? PROMOTION_TYPES[(move >>> 12) & 0x3] : null;
+    }
+
+    /**
+     * Drops the en passant / castling flag so a move built from a ChessMove, which can't know
+     * about those, can be compared against a generated one
+     *
+     * @return the start square, end square and promotion piece of the move
+     */
+    public static int key(int move) {
+        return flag(move) == PROMOTION ? move : move & 0xFFF;
+    }
+
+    /**
+     * @return a ChessMove view of the packed move, using the shared ChessPosition instances
+     */
+    public static ChessMove toChessMove(int move) {
+        return new ChessMove(ChessPosition.ofSquare(from(move)), ChessPosition.ofSquare(to(move)), promotionPiece(move));
+    }
+
+    private static int promotionCode(ChessPiece.PieceType type) {
+        return switch (type) {
+            case KNIGHT -> 0;
+            case BISHOP -> 1;
+            case ROOK -> 2;
+            case QUEEN -> 3;
+            default -> throw new IllegalArgumentException("Pawns cannot promote to " + type);
+        };
+    }
+}
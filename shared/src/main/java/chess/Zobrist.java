@@ -0,0 +1,37 @@
+package chess;
+
+import java.util.SplittableRandom;
+
+/**
+ * Random 64-bit keys for Zobrist hashing. A position's key is the XOR of the keys for every piece on
+ * its square plus its castling rights and en passant file, so it can be updated in O(1) as pieces move
+ */
+final class Zobrist {
+
+    // Indexed by [ChessBoard.pieceIndex()][square]
+    static final long[][] PIECES = new long[12][64];
+    // Indexed by a combination of ChessBoard's *_CASTLING bits
+    static final long[] CASTLING = new long[16];
+    // Indexed by the column (0-7) of the en passant square
+    static final long[] EN_PASSANT = new long[8];
+    static final long BLACK_TO_MOVE;
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x5EED_C4E55L); // Fixed seed so keys are the same every run
+        for (long[] piece : PIECES) {
+            for (int square = 0; square < 64; square++) {
+                piece[square] = random.nextLong();
+            }
+        }
+        for (int rights = 1; rights < 16; rights++) { // No rights at all hashes to 0
+            CASTLING[rights] = random.nextLong();
+        }
+        for (int col = 0; col < 8; col++) {
+            EN_PASSANT[col] = random.nextLong();
+        }
+        BLACK_TO_MOVE = random.nextLong();
+    }
+
+    private Zobrist() {
+    }
+}
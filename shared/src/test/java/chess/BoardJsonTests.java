@@ -0,0 +1,79 @@
+package chess;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that ChessBoardAdapter writes only the pieces, castling rights and en passant square, and that a
+ * board read back works the same as the one written
+ */
+public class BoardJsonTests {
+
+    private final Gson gson = new Gson();
+
+    @Test
+    @DisplayName("Board JSON Round Trip")
+    public void roundTrip() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        TestMoves.play(game, "e2e4", "c7c5", "e4e5", "d7d5");
+        String json = gson.toJson(game.getBoard());
+        for (String field : new String[]{"mailbox", "pieceSquares", "pieceCounts", "pieceKey",
+                "colorBoards", "occupied"}) {
+            Assertions.assertFalse(json.contains(field), field);
+        }
+
+        ChessBoard read = gson.fromJson(json, ChessBoard.class);
+        Assertions.assertEquals(game.getBoard(), read);
+        Assertions.assertEquals(game.getBoard().zobristKey(), read.zobristKey());
+        Assertions.assertEquals(16, read.piecePositions(ChessGame.TeamColor.BLACK).size());
+        ChessGame copy = gson.fromJson(gson.toJson(game), ChessGame.class);
+        Assertions.assertEquals(game.toFen(), copy.toFen()); // Including the en passant square on d6
+    }
+
+    @Test
+    @DisplayName("Older Board JSON")
+    public void olderJson() {
+        ChessBoard start = new ChessBoard();
+        start.resetBoard();
+
+        // Only the bitboards, as written before the mailbox and piece lists were added
+        StringBuilder bitboards = new StringBuilder("{\"pieceBoards\":[");
+        for (int i = 0; i < start.pieceBoards.length; i++) {
+            bitboards.append(i == 0 ? "" : ",").append(start.pieceBoards[i]);
+        }
+        ChessBoard read = gson.fromJson(bitboards.append("]}").toString(), ChessBoard.class);
+        Assertions.assertEquals(start, read);
+        Assertions.assertEquals(ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KING),
+                read.getPiece(ChessPosition.of(1, 5)));
+        Assertions.assertEquals(start.zobristKey(), read.zobristKey());
+
+        // The 8 by 8 array of pieces the board started out as
+        StringBuilder squares = new StringBuilder("{\"squares\":[");
+        for (int row = 1; row <= 8; row++) {
+            squares.append(row == 1 ? "[" : ",[");
+            for (int col = 1; col <= 8; col++) {
+                squares.append(col == 1 ? "" : ",").append(gson.toJson(start.getPiece(ChessPosition.of(row, col))));
+            }
+            squares.append(']');
+        }
+        read = gson.fromJson(squares.append("]}").toString(), ChessBoard.class);
+        Assertions.assertEquals(start, read);
+        Assertions.assertEquals(start.zobristKey(), read.zobristKey());
+    }
+
+    @Test
+    @DisplayName("Invalid Board JSON")
+    public void invalidJson() {
+        Assertions.assertThrows(JsonParseException.class,
+                () -> gson.fromJson("{\"pieceBoards\":[1,1]}", ChessBoard.class));
+        Assertions.assertThrows(JsonParseException.class,
+                () -> gson.fromJson("{\"pieceBoards\":[0,0,0,0,0,0,0,0,0,0,0,0,1]}", ChessBoard.class));
+        Assertions.assertThrows(JsonParseException.class,
+                () -> gson.fromJson("{\"castlingRights\":16}", ChessBoard.class));
+        Assertions.assertThrows(JsonParseException.class,
+                () -> gson.fromJson("{\"enPassantSquare\":64}", ChessBoard.class));
+    }
+}
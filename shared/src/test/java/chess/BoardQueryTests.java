@@ -0,0 +1,91 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Checks ChessBoard's isAttacked and piecePositions against hand-worked positions
+ */
+public class BoardQueryTests {
+
+    private static final ChessGame.TeamColor WHITE = ChessGame.TeamColor.WHITE;
+    private static final ChessGame.TeamColor BLACK = ChessGame.TeamColor.BLACK;
+
+    @Test
+    @DisplayName("Attacked Squares")
+    public void attacked() {
+        ChessBoard board = ChessGame.fromFen("4k3/8/8/3p4/8/P1N5/8/R3K3 w - - 0 1").getBoard();
+        // Knight on c3, including the square of the pawn it could take
+        Assertions.assertTrue(board.isAttacked(square("d5"), WHITE));
+        Assertions.assertTrue(board.isAttacked(square("b1"), WHITE));
+        Assertions.assertTrue(board.isAttacked(square("e4"), WHITE));
+        // Pawns only attack diagonally forwards
+        Assertions.assertTrue(board.isAttacked(square("b4"), WHITE));
+        Assertions.assertTrue(board.isAttacked(square("c4"), BLACK));
+        Assertions.assertTrue(board.isAttacked(square("e4"), BLACK));
+        Assertions.assertFalse(board.isAttacked(square("d4"), BLACK));
+        Assertions.assertFalse(board.isAttacked(square("c6"), BLACK));
+        // Kings
+        Assertions.assertTrue(board.isAttacked(square("f7"), BLACK));
+        Assertions.assertTrue(board.isAttacked(square("d2"), WHITE));
+        Assertions.assertFalse(board.isAttacked(square("g7"), BLACK));
+        // Sliders stop at the first piece in the way
+        Assertions.assertTrue(board.isAttacked(square("d1"), WHITE));
+        Assertions.assertTrue(board.isAttacked(square("a2"), WHITE));
+        Assertions.assertFalse(board.isAttacked(square("a5"), WHITE));
+        board.addPiece(square("a3"), null);
+        Assertions.assertTrue(board.isAttacked(square("a5"), WHITE));
+        Assertions.assertTrue(board.isAttacked(square("a8"), WHITE));
+        Assertions.assertFalse(board.isAttacked(square("a8"), BLACK));
+    }
+
+    @Test
+    @DisplayName("Piece Positions Follow The Board")
+    public void piecePositions() {
+        ChessBoard board = new ChessBoard();
+        Assertions.assertTrue(board.piecePositions(WHITE).isEmpty());
+        board.resetBoard();
+        Assertions.assertEquals(16, board.piecePositions(WHITE).size());
+        for (ChessPosition position : board.piecePositions(BLACK)) {
+            Assertions.assertTrue(position.getRow() >= 7);
+        }
+
+        board = ChessGame.fromFen("4k3/8/8/3p4/8/P1N5/8/R3K3 w - - 0 1").getBoard();
+        Assertions.assertEquals(squares("a1", "e1", "a3", "c3"), new HashSet<>(board.piecePositions(WHITE)));
+        Assertions.assertEquals(squares("e8", "d5"), new HashSet<>(board.piecePositions(BLACK)));
+
+        // Replacing a piece moves its square to the other team's list
+        board.addPiece(square("d5"), ChessPiece.of(WHITE, ChessPiece.PieceType.QUEEN));
+        Assertions.assertEquals(squares("a1", "e1", "a3", "c3", "d5"), new HashSet<>(board.piecePositions(WHITE)));
+        Assertions.assertEquals(List.of(square("e8")), board.piecePositions(BLACK));
+
+        // Moving and taking back a capture
+        board.addPiece(square("d7"), ChessPiece.of(BLACK, ChessPiece.PieceType.ROOK));
+        board.makeMove(new ChessMove(square("d5"), square("d7"), null).toPacked());
+        Assertions.assertEquals(squares("a1", "e1", "a3", "c3", "d7"), new HashSet<>(board.piecePositions(WHITE)));
+        Assertions.assertEquals(List.of(square("e8")), board.piecePositions(BLACK));
+        board.unmakeMove();
+        Assertions.assertEquals(squares("e8", "d7"), new HashSet<>(board.piecePositions(BLACK)));
+
+        board.addPiece(square("e8"), null);
+        board.addPiece(square("d7"), null);
+        Assertions.assertTrue(board.piecePositions(BLACK).isEmpty());
+    }
+
+    private static Set<ChessPosition> squares(String... names) {
+        Set<ChessPosition> squares = new HashSet<>();
+        for (String name : names) {
+            squares.add(square(name));
+        }
+        return squares;
+    }
+
+    private static ChessPosition square(String name) {
+        return ChessPosition.of(name.charAt(1) - '0', name.charAt(0) - 'a' + 1);
+    }
+}
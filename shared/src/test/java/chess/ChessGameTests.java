@@ -0,0 +1,186 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Checks ChessGame's move validation and check, checkmate and stalemate detection through its public methods
+ */
+public class ChessGameTests {
+
+    @Test
+    @DisplayName("Fool's Mate")
+    public void foolsMate() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        TestMoves.play(game, "f2f3", "e7e5", "g2g4", "d8h4");
+        Assertions.assertTrue(game.isInCheck(ChessGame.TeamColor.WHITE));
+        Assertions.assertTrue(game.isInCheckmate(ChessGame.TeamColor.WHITE));
+        Assertions.assertFalse(game.isInStalemate(ChessGame.TeamColor.WHITE));
+        Assertions.assertFalse(game.isInCheck(ChessGame.TeamColor.BLACK));
+        Assertions.assertFalse(game.isInCheckmate(ChessGame.TeamColor.BLACK));
+    }
+
+    @Test
+    @DisplayName("Stalemate")
+    public void stalemate() {
+        ChessGame game = ChessGame.fromFen("7k/5Q2/6K1/8/8/8/8/8 b - - 0 1");
+        Assertions.assertTrue(game.isInStalemate(ChessGame.TeamColor.BLACK));
+        Assertions.assertFalse(game.isInCheck(ChessGame.TeamColor.BLACK));
+        Assertions.assertFalse(game.isInCheckmate(ChessGame.TeamColor.BLACK));
+        Assertions.assertFalse(game.isInStalemate(ChessGame.TeamColor.WHITE));
+    }
+
+    @Test
+    @DisplayName("Pinned Pieces Stay On The Pin Line")
+    public void pinnedPiece() {
+        ChessGame game = ChessGame.fromFen("4k3/4r3/8/8/8/8/4B3/4K3 w - - 0 1");
+        Assertions.assertTrue(game.validMoves(ChessPosition.of(2, 5)).isEmpty());
+
+        game = ChessGame.fromFen("4k3/4r3/8/8/8/8/4R3/4K3 w - - 0 1");
+        Assertions.assertEquals(Set.of("e2e3", "e2e4", "e2e5", "e2e6", "e2e7"), TestMoves.uci(game.validMoves(ChessPosition.of(2, 5))));
+    }
+
+    @Test
+    @DisplayName("En Passant")
+    public void enPassant() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        TestMoves.play(game, "e2e4", "a7a6", "e4e5", "d7d5");
+        Assertions.assertTrue(TestMoves.uci(game.validMoves(ChessPosition.of(5, 5))).contains("e5d6"));
+        TestMoves.play(game, "e5d6");
+        Assertions.assertNull(game.getBoard().getPiece(ChessPosition.of(5, 4)));
+        Assertions.assertEquals(ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN),
+                game.getBoard().getPiece(ChessPosition.of(6, 4)));
+    }
+
+    @Test
+    @DisplayName("Castling")
+    public void castling() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        TestMoves.play(game, "e2e4", "e7e5", "g1f3", "b8c6", "f1c4", "g8f6", "e1g1");
+        ChessBoard board = game.getBoard();
+        Assertions.assertEquals(ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KING), board.getPiece(ChessPosition.of(1, 7)));
+        Assertions.assertEquals(ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.ROOK), board.getPiece(ChessPosition.of(1, 6)));
+        Assertions.assertNull(board.getPiece(ChessPosition.of(1, 8)));
+    }
+
+    @Test
+    @DisplayName("No Castling Through An Attacked Square")
+    public void castlingThroughCheck() {
+        ChessGame game = ChessGame.fromFen("4kr2/8/8/8/8/8/8/4K2R w K - 0 1");
+        Assertions.assertFalse(TestMoves.uci(game.validMoves(ChessPosition.of(1, 5))).contains("e1g1"));
+        Assertions.assertThrows(InvalidMoveException.class, () -> TestMoves.play(game, "e1g1"));
+    }
+
+    @Test
+    @DisplayName("Invalid Moves Throw")
+    public void invalidMoves() {
+        ChessGame game = new ChessGame();
+        Assertions.assertThrows(InvalidMoveException.class, () -> TestMoves.play(game, "e7e5")); // Black's piece
+        Assertions.assertThrows(InvalidMoveException.class, () -> TestMoves.play(game, "e2e5"));
+        Assertions.assertThrows(InvalidMoveException.class, () -> TestMoves.play(game, "e3e4")); // Empty square
+        Assertions.assertEquals(new ChessGame(), game);
+
+        ChessGame promotion = ChessGame.fromFen("k7/4P3/8/8/8/8/8/K7 w - - 0 1");
+        Assertions.assertThrows(InvalidMoveException.class, () -> TestMoves.play(promotion, "e7e8"));
+        Assertions.assertNotNull(promotion.getBoard().getPiece(ChessPosition.of(7, 5)));
+    }
+
+    @Test
+    @DisplayName("All Valid Moves Matches Valid Moves Per Piece")
+    public void allValidMoves() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        Assertions.assertEquals(20, game.allValidMoves(ChessGame.TeamColor.WHITE).size());
+        Assertions.assertEquals(20, game.allValidMoves(ChessGame.TeamColor.BLACK).size());
+
+        TestMoves.play(game, "e2e4", "d7d5", "f1b5");
+        for (ChessGame.TeamColor team : ChessGame.TeamColor.values()) {
+            Set<String> expected = new HashSet<>();
+            for (int row = 1; row <= 8; row++) {
+                for (int col = 1; col <= 8; col++) {
+                    ChessPiece piece = game.getBoard().getPiece(ChessPosition.of(row, col));
+                    if (piece != null && piece.getTeamColor() == team) {
+                        expected.addAll(TestMoves.uci(game.validMoves(ChessPosition.of(row, col))));
+                    }
+                }
+            }
+            Assertions.assertEquals(expected, TestMoves.uci(game.allValidMoves(team)));
+        }
+        Set<String> evasions = TestMoves.uci(game.allValidMoves(ChessGame.TeamColor.BLACK)); // Bb5 checks the king
+        Assertions.assertTrue(evasions.contains("c7c6"));
+        Assertions.assertFalse(evasions.contains("a7a6"));
+
+        ChessGame mated = new ChessGame();
+        TestMoves.play(mated, "f2f3", "e7e5", "g2g4", "d8h4");
+        Assertions.assertTrue(mated.allValidMoves(ChessGame.TeamColor.WHITE).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Status Follows The Game")
+    public void status() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        Assertions.assertEquals(ChessGame.GameStatus.IN_PROGRESS, game.getStatus());
+        TestMoves.play(game, "e2e4", "f7f6", "d2d4", "g7g5");
+        Assertions.assertEquals(ChessGame.GameStatus.IN_PROGRESS, game.getStatus());
+        TestMoves.play(game, "d1h5");
+        Assertions.assertEquals(ChessGame.GameStatus.CHECKMATE, game.getStatus());
+
+        game = ChessGame.fromFen("4k3/8/8/8/8/8/8/3K3R w - - 0 1");
+        TestMoves.play(game, "h1h2");
+        Assertions.assertEquals(ChessGame.GameStatus.IN_PROGRESS, game.getStatus());
+        TestMoves.play(game, "e8f8", "h2h8");
+        Assertions.assertEquals(ChessGame.GameStatus.CHECK, game.getStatus());
+        Assertions.assertTrue(game.isInCheck(ChessGame.TeamColor.BLACK));
+
+        game = ChessGame.fromFen("7k/8/6K1/8/8/8/8/5Q2 w - - 0 1");
+        TestMoves.play(game, "f1f7");
+        Assertions.assertEquals(ChessGame.GameStatus.STALEMATE, game.getStatus());
+    }
+
+    @Test
+    @DisplayName("Status Is Recomputed After Changes")
+    public void statusRecomputed() {
+        ChessGame game = ChessGame.fromFen("7k/8/6K1/8/8/8/8/5Q2 b - - 0 1");
+        Assertions.assertEquals(ChessGame.GameStatus.IN_PROGRESS, game.getStatus());
+
+        // Editing the board in place
+        game.getBoard().addPiece(ChessPosition.of(8, 6), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.QUEEN));
+        Assertions.assertEquals(ChessGame.GameStatus.CHECKMATE, game.getStatus());
+        game.getBoard().addPiece(ChessPosition.of(8, 6), null);
+        Assertions.assertEquals(ChessGame.GameStatus.IN_PROGRESS, game.getStatus());
+
+        // Handing the game another board
+        game.setBoard(ChessGame.fromFen("7k/5Q2/6K1/8/8/8/8/8 b - - 0 1").getBoard());
+        Assertions.assertEquals(ChessGame.GameStatus.STALEMATE, game.getStatus());
+
+        // Changing whose turn it is
+        game.setTeamTurn(ChessGame.TeamColor.WHITE);
+        Assertions.assertEquals(ChessGame.GameStatus.IN_PROGRESS, game.getStatus());
+        game.setTeamTurn(ChessGame.TeamColor.BLACK);
+        Assertions.assertEquals(ChessGame.GameStatus.STALEMATE, game.getStatus());
+    }
+
+    @Test
+    @DisplayName("Valid Moves Are Not Stale")
+    public void validMovesInvalidated() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        ChessPosition rook = ChessPosition.of(1, 1);
+        Assertions.assertTrue(game.validMoves(rook).isEmpty());
+
+        // Editing the board in place
+        game.getBoard().addPiece(ChessPosition.of(2, 1), null);
+        Assertions.assertEquals(6, game.validMoves(rook).size());
+
+        // Handing the game another board
+        game.setBoard(new ChessGame().getBoard());
+        Assertions.assertTrue(game.validMoves(rook).isEmpty());
+
+        // Making a move
+        TestMoves.play(game, "a2a4", "e7e5");
+        Assertions.assertEquals(Set.of("a1a2", "a1a3"), TestMoves.uci(game.validMoves(rook)));
+        Assertions.assertEquals(Set.of("a4a5"), TestMoves.uci(game.validMoves(ChessPosition.of(4, 1))));
+    }
+}
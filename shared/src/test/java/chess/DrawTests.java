@@ -0,0 +1,138 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the draw rules ChessGame tracks on top of checkmate and stalemate
+ */
+public class DrawTests {
+
+    @Test
+    @DisplayName("Threefold Repetition")
+    public void threefoldRepetition() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        for (int i = 0; i < 2; i++) {
+            Assertions.assertFalse(game.isDrawByRepetition());
+            TestMoves.play(game, "g1f3", "g8f6", "f3g1", "f6g8");
+        }
+        // Starting position, white to move, for the third time
+        Assertions.assertTrue(game.isDrawByRepetition());
+        Assertions.assertEquals(ChessGame.GameStatus.DRAW_BY_REPETITION, game.getStatus());
+
+        TestMoves.play(game, "e2e4");
+        Assertions.assertFalse(game.isDrawByRepetition());
+        Assertions.assertEquals(ChessGame.GameStatus.IN_PROGRESS, game.getStatus());
+    }
+
+    @Test
+    @DisplayName("Edited Board Is Not A Repetition")
+    public void editedBoard() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        TestMoves.play(game, "g1f3", "g8f6", "f3g1", "f6g8", "g1f3", "g8f6", "f3g1", "f6g8");
+        Assertions.assertTrue(game.isDrawByRepetition());
+
+        game.getBoard().addPiece(ChessPosition.of(4, 4), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.QUEEN));
+        Assertions.assertFalse(game.isDrawByRepetition());
+        Assertions.assertEquals(ChessGame.GameStatus.IN_PROGRESS, game.getStatus());
+    }
+
+    @Test
+    @DisplayName("Repetition Needs Same Team To Move")
+    public void sameTeamToMove() throws InvalidMoveException {
+        ChessGame game = kingsOnly();
+        // White walks a triangle, so the kings are back home with black to move
+        TestMoves.play(game, "a1a2", "h8h7", "a2b1", "h7h8", "b1a1");
+        // Then black does, so they are home with white to move: the third time for the pieces, the second for the position
+        TestMoves.play(game, "h8h7", "a1a2", "h7g8", "a2a1", "g8h8");
+        Assertions.assertFalse(game.isDrawByRepetition());
+
+        TestMoves.play(game, "a1a2", "h8h7", "a2a1", "h7h8");
+        Assertions.assertTrue(game.isDrawByRepetition());
+    }
+
+    @Test
+    @DisplayName("Fifty Move Rule")
+    public void fiftyMoves() throws InvalidMoveException {
+        ChessGame game = kingsOnly();
+        game.getBoard().addPiece(ChessPosition.of(4, 4), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.ROOK));
+        // The white king walks up and down the a-file while the black king steps back and forth
+        String[] white = {"a1a2", "a2a3", "a3a4", "a4a5", "a5a4", "a4a3", "a3a2", "a2a1"};
+        String[] black = {"h8g8", "g8h8"};
+        for (int i = 0; i < 49; i++) {
+            TestMoves.play(game, white[i % white.length], black[i % black.length]);
+        }
+        Assertions.assertEquals(98, game.getHalfmoveClock());
+        Assertions.assertFalse(game.isDrawByFiftyMoves());
+        TestMoves.play(game, white[49 % white.length], black[49 % black.length]);
+        Assertions.assertTrue(game.isDrawByFiftyMoves());
+        Assertions.assertEquals(ChessGame.GameStatus.DRAW_BY_FIFTY_MOVES, game.getStatus());
+    }
+
+    @Test
+    @DisplayName("Replaced Board Clears Fifty Move Status")
+    public void setBoardClearsFiftyMoves() throws InvalidMoveException {
+        ChessGame game = kingsOnly();
+        game.getBoard().addPiece(ChessPosition.of(4, 4), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.ROOK));
+        String[] white = {"a1a2", "a2a1"};
+        String[] black = {"h8g8", "g8h8"};
+        for (int i = 0; i < 50; i++) {
+            TestMoves.play(game, white[i % 2], black[i % 2]);
+        }
+        Assertions.assertEquals(ChessGame.GameStatus.DRAW_BY_FIFTY_MOVES, game.getStatus());
+
+        game.setBoard(game.getBoard());
+        Assertions.assertEquals(0, game.getHalfmoveClock());
+        Assertions.assertFalse(game.isDrawByFiftyMoves());
+        Assertions.assertEquals(ChessGame.GameStatus.IN_PROGRESS, game.getStatus());
+    }
+
+    @Test
+    @DisplayName("Capture Resets Halfmove Clock")
+    public void captureResetsClock() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        TestMoves.play(game, "g1f3", "b8c6", "f3g5");
+        Assertions.assertEquals(3, game.getHalfmoveClock());
+        TestMoves.play(game, "e7e5");
+        Assertions.assertEquals(0, game.getHalfmoveClock());
+        TestMoves.play(game, "g5f7");
+        Assertions.assertEquals(0, game.getHalfmoveClock());
+    }
+
+    @Test
+    @DisplayName("Insufficient Material")
+    public void insufficientMaterial() {
+        ChessGame game = kingsOnly();
+        ChessBoard board = game.getBoard();
+        Assertions.assertTrue(game.isInsufficientMaterial());
+
+        board.addPiece(ChessPosition.of(3, 3), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.BISHOP));
+        Assertions.assertTrue(game.isInsufficientMaterial());
+        Assertions.assertEquals(ChessGame.GameStatus.DRAW_BY_INSUFFICIENT_MATERIAL, game.getStatus());
+
+        // c3 and f6 are both dark squares
+        board.addPiece(ChessPosition.of(6, 6), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.BISHOP));
+        Assertions.assertTrue(game.isInsufficientMaterial());
+
+        board.addPiece(ChessPosition.of(6, 5), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.BISHOP));
+        Assertions.assertFalse(game.isInsufficientMaterial());
+
+        board.addPiece(ChessPosition.of(6, 5), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KNIGHT));
+        Assertions.assertFalse(game.isInsufficientMaterial());
+
+        board.addPiece(ChessPosition.of(6, 5), null);
+        board.addPiece(ChessPosition.of(2, 2), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN));
+        Assertions.assertFalse(game.isInsufficientMaterial());
+        Assertions.assertFalse(new ChessGame().isInsufficientMaterial());
+    }
+
+    private static ChessGame kingsOnly() {
+        ChessBoard board = new ChessBoard();
+        board.addPiece(ChessPosition.of(1, 1), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KING));
+        board.addPiece(ChessPosition.of(8, 8), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KING));
+        ChessGame game = new ChessGame();
+        game.setBoard(board);
+        return game;
+    }
+}
@@ -0,0 +1,76 @@
+package chess;
+
+import com.google.gson.Gson;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that the shared ChessPosition and ChessPiece instances are handed out by the factories and by Gson,
+ * and that the JSON looks the same as it did before the adapters
+ */
+public class InterningTests {
+
+    private final Gson gson = new Gson();
+
+    @Test
+    @DisplayName("Positions Are Shared")
+    public void positionsShared() {
+        for (int row = 1; row <= 8; row++) {
+            for (int col = 1; col <= 8; col++) {
+                ChessPosition position = ChessPosition.of(row, col);
+                Assertions.assertSame(position, ChessPosition.of(row, col));
+                Assertions.assertSame(position, ChessPosition.ofSquare(position.getSquare()));
+                Assertions.assertEquals(new ChessPosition(row, col), position);
+            }
+        }
+        ChessPosition offBoard = ChessPosition.of(0, 9);
+        Assertions.assertEquals(0, offBoard.getRow());
+        Assertions.assertEquals(9, offBoard.getColumn());
+    }
+
+    @Test
+    @DisplayName("Move JSON Round Trip")
+    public void moveJson() {
+        ChessMove move = new ChessMove(ChessPosition.of(7, 5), ChessPosition.of(8, 4), ChessPiece.PieceType.QUEEN);
+        String json = gson.toJson(move);
+        Assertions.assertEquals("{\"startPosition\":{\"row\":7,\"col\":5},\"endPosition\":{\"row\":8,\"col\":4},"
+                + "\"promotionPiece\":\"QUEEN\"}", json);
+
+        ChessMove read = gson.fromJson(json, ChessMove.class);
+        Assertions.assertEquals(move, read);
+        Assertions.assertSame(ChessPosition.of(7, 5), read.getStartPosition());
+        Assertions.assertSame(ChessPosition.of(8, 4), read.getEndPosition());
+
+        ChessMove quiet = gson.fromJson("{\"startPosition\":{\"col\":5,\"row\":2},\"endPosition\":{\"row\":4,\"col\":5}}",
+                ChessMove.class);
+        Assertions.assertEquals(new ChessMove(ChessPosition.of(2, 5), ChessPosition.of(4, 5), null), quiet);
+    }
+
+    @Test
+    @DisplayName("Pieces Are Shared")
+    public void piecesShared() {
+        for (ChessGame.TeamColor color : ChessGame.TeamColor.values()) {
+            for (ChessPiece.PieceType type : ChessPiece.PieceType.values()) {
+                ChessPiece piece = ChessPiece.of(color, type);
+                Assertions.assertSame(piece, ChessPiece.of(color, type));
+                Assertions.assertEquals(new ChessPiece(color, type), piece);
+            }
+        }
+        ChessBoard board = new ChessBoard();
+        board.resetBoard();
+        Assertions.assertSame(ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.QUEEN),
+                board.getPiece(ChessPosition.of(8, 4)));
+    }
+
+    @Test
+    @DisplayName("Piece JSON Round Trip")
+    public void pieceJson() {
+        ChessPiece rook = ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.ROOK);
+        String json = gson.toJson(rook);
+        Assertions.assertEquals("{\"pieceColor\":\"BLACK\",\"type\":\"ROOK\"}", json);
+        Assertions.assertSame(rook, gson.fromJson(json, ChessPiece.class));
+        Assertions.assertSame(rook, gson.fromJson("{\"type\":\"ROOK\",\"pieceColor\":\"BLACK\"}", ChessPiece.class));
+        Assertions.assertEquals("null", gson.toJson(null, ChessPiece.class));
+    }
+}
@@ -0,0 +1,138 @@
+package chess;
+
+import com.google.gson.Gson;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Checks ChessGame's undoMove, redoMove and replayTo against the positions seen while playing forwards
+ */
+public class JournalTests {
+
+    // Castling on both sides, an en passant capture and a promotion with capture
+    private static final String[] MOVES = {
+            "e2e4", "d7d5", "e4e5", "f7f5", "e5f6", "g8f6", "g1f3", "c8e6", "f1c4", "d8d6", "e1g1", "b8c6",
+            "c4d5", "e8c8", "d5c6", "b7c6", "f1e1", "a7a5", "e1e6", "a5a4", "e6e7", "a4a3", "d2d3", "a3b2",
+            "d3d4", "b2a1q",
+    };
+
+    @Test
+    @DisplayName("Undo And Redo Every Move")
+    public void undoRedo() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        List<String> fens = new ArrayList<>();
+        fens.add(game.toFen());
+        for (String move : MOVES) {
+            TestMoves.play(game, move);
+            fens.add(game.toFen());
+        }
+        Assertions.assertEquals(MOVES.length, game.getPly());
+
+        for (int ply = MOVES.length - 1; ply >= 0; ply--) {
+            Assertions.assertTrue(game.undoMove());
+            Assertions.assertEquals(fens.get(ply), game.toFen());
+        }
+        Assertions.assertFalse(game.undoMove());
+        Assertions.assertEquals(new ChessGame(), game);
+
+        for (int ply = 1; ply <= MOVES.length; ply++) {
+            Assertions.assertTrue(game.redoMove());
+            Assertions.assertEquals(fens.get(ply), game.toFen());
+        }
+        Assertions.assertFalse(game.redoMove());
+    }
+
+    @Test
+    @DisplayName("Replay To Ply")
+    public void replayTo() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        TestMoves.play(game, MOVES);
+        String end = game.toFen();
+
+        game.replayTo(4);
+        Assertions.assertEquals("rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPP1PPP/RNBQKBNR w KQkq f6 0 3", game.toFen());
+        game.replayTo(MOVES.length);
+        Assertions.assertEquals(end, game.toFen());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> game.replayTo(MOVES.length + 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> game.replayTo(-1));
+    }
+
+    @Test
+    @DisplayName("New Move Drops Undone Moves")
+    public void newMoveDropsRedo() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        TestMoves.play(game, "e2e4", "e7e5", "g1f3");
+        game.undoMove();
+        game.undoMove();
+        Assertions.assertEquals(3, game.getJournalLength());
+
+        TestMoves.play(game, "c7c5");
+        Assertions.assertEquals(2, game.getJournalLength());
+        Assertions.assertFalse(game.redoMove());
+    }
+
+    @Test
+    @DisplayName("Replaced Board Starts A New Journal")
+    public void setBoard() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        TestMoves.play(game, "e2e4", "e7e5");
+        ChessBoard board = new ChessBoard();
+        board.resetBoard();
+        game.setBoard(board);
+        Assertions.assertEquals(0, game.getJournalLength());
+        Assertions.assertFalse(game.undoMove());
+    }
+
+    @Test
+    @DisplayName("Journal Is Not Serialized")
+    public void notSerialized() throws InvalidMoveException {
+        Gson gson = new Gson();
+        ChessGame game = new ChessGame();
+        for (int i = 0; i < 25; i++) {
+            TestMoves.play(game, "g1f3", "g8f6", "f3g1", "f6g8");
+        }
+        String json = gson.toJson(game);
+        for (String field : new String[]{"positionKeys", "journal", "undoStack", "undoSize"}) {
+            Assertions.assertFalse(json.contains(field), field);
+        }
+
+        TestMoves.play(game, "e2e4");
+        ChessGame copy = gson.fromJson(gson.toJson(game), ChessGame.class);
+        Assertions.assertEquals(game, copy);
+        Assertions.assertEquals(game.toFen(), copy.toFen());
+        Assertions.assertEquals(0, copy.getPly());
+        Assertions.assertFalse(copy.undoMove());
+        Assertions.assertFalse(copy.isDrawByRepetition());
+        TestMoves.play(copy, "e7e5");
+        Assertions.assertTrue(copy.undoMove());
+        Assertions.assertEquals(game.toFen(), copy.toFen());
+    }
+
+    @Test
+    @DisplayName("Undo Restores A Large Halfmove Clock")
+    public void largeClock() throws InvalidMoveException {
+        ChessGame game = ChessGame.fromFen("4k3/8/8/8/8/8/8/4K3 w - - 999999999 1");
+        TestMoves.play(game, "e1e2");
+        Assertions.assertTrue(game.undoMove());
+        Assertions.assertEquals(999999999, game.getHalfmoveClock());
+    }
+
+    @Test
+    @DisplayName("Status After Stepping Through The Journal")
+    public void statusAfterReplay() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        TestMoves.play(game, "f2f3", "e7e5", "g2g4", "d8h4");
+        game.replayTo(0);
+        Assertions.assertEquals(ChessGame.GameStatus.IN_PROGRESS, game.getStatus());
+        game.replayTo(4);
+        Assertions.assertEquals(ChessGame.GameStatus.CHECKMATE, game.getStatus());
+        Assertions.assertTrue(game.undoMove());
+        Assertions.assertEquals(ChessGame.GameStatus.IN_PROGRESS, game.getStatus());
+        Assertions.assertTrue(game.redoMove());
+        Assertions.assertTrue(game.isInCheckmate(ChessGame.TeamColor.WHITE));
+    }
+}
@@ -0,0 +1,104 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Checks MoveNotation's UCI and SAN reading and writing
+ */
+public class MoveNotationTests {
+
+    @Test
+    @DisplayName("UCI Round Trip")
+    public void uci() {
+        ChessMove move = MoveNotation.parseUci("e7e8q");
+        Assertions.assertEquals(new ChessMove(ChessPosition.of(7, 5), ChessPosition.of(8, 5), ChessPiece.PieceType.QUEEN), move);
+        Assertions.assertEquals("e7e8q", MoveNotation.toUci(move));
+        Assertions.assertEquals("g1f3", MoveNotation.toUci(MoveNotation.parseUci("g1f3")));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "e2e", "e2e4qq", "i2e4", "e0e4", "e7e8k", "e7e8Q"})
+    @DisplayName("Invalid UCI")
+    public void invalidUci(String uci) {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> MoveNotation.parseUci(uci));
+    }
+
+    @Test
+    @DisplayName("SAN Game")
+    public void sanGame() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        String[] moves = {"e4", "e5", "Nf3", "Nc6", "Bb5", "a6", "Bxc6", "dxc6", "O-O", "f6", "d4", "exd4", "Nxd4",
+                "c5", "Nb3", "Qxd1", "Rxd1", "Bd7", "Nc3", "O-O-O", "Bf4", "Bd6", "Bxd6", "cxd6", "Rd2", "Be6"};
+        for (String san : moves) {
+            ChessMove move = MoveNotation.parseSan(game, san);
+            Assertions.assertEquals(san, MoveNotation.toSan(game, move));
+            game.makeMove(move);
+        }
+    }
+
+    @Test
+    @DisplayName("SAN Disambiguation")
+    public void disambiguation() {
+        // Knights on b1 and f3 can both reach d2, rooks on a1 and a5 can both reach a3
+        ChessGame game = ChessGame.fromFen("4k3/8/8/R7/8/8/8/RN2KN2 w - - 0 1");
+        Assertions.assertEquals("Nbd2", MoveNotation.toSan(game, MoveNotation.parseUci("b1d2")));
+        Assertions.assertEquals("Nfd2", MoveNotation.toSan(game, MoveNotation.parseUci("f1d2")));
+        Assertions.assertEquals("R1a3", MoveNotation.toSan(game, MoveNotation.parseUci("a1a3")));
+        Assertions.assertEquals("R5a3", MoveNotation.toSan(game, MoveNotation.parseUci("a5a3")));
+        Assertions.assertEquals(MoveNotation.parseUci("a5a3"), MoveNotation.parseSan(game, "R5a3"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> MoveNotation.parseSan(game, "Nd2"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> MoveNotation.parseSan(game, "Ra3"));
+
+        // Queens on a1, a3 and c1 can all reach c3, so only the full square will do for a1
+        ChessGame queens = ChessGame.fromFen("4k3/8/8/8/8/Q7/8/Q1Q1K3 w - - 0 1");
+        Assertions.assertEquals("Qa1c3", MoveNotation.toSan(queens, MoveNotation.parseUci("a1c3")));
+        Assertions.assertEquals(MoveNotation.parseUci("a1c3"), MoveNotation.parseSan(queens, "Qa1xc3"));
+    }
+
+    @Test
+    @DisplayName("SAN Promotion, Check And Mate")
+    public void promotionAndMate() {
+        ChessGame game = ChessGame.fromFen("3r2k1/4PR2/6K1/8/8/8/8/8 w - - 0 1");
+        Assertions.assertEquals("exd8=Q#", MoveNotation.toSan(game, MoveNotation.parseUci("e7d8q")));
+        Assertions.assertEquals("e8=N", MoveNotation.toSan(game, MoveNotation.parseUci("e7e8n")));
+        Assertions.assertEquals("Rf8+", MoveNotation.toSan(game, MoveNotation.parseUci("f7f8")));
+        Assertions.assertEquals(MoveNotation.parseUci("e7d8r"), MoveNotation.parseSan(game, "exd8R"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> MoveNotation.parseSan(game, "exd8"));
+
+        ChessGame mate = ChessGame.fromFen("6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1");
+        Assertions.assertEquals("Ra8#", MoveNotation.toSan(mate, MoveNotation.parseUci("a1a8")));
+        Assertions.assertEquals(MoveNotation.parseUci("a1a8"), MoveNotation.parseSan(mate, "Ra8#"));
+    }
+
+    @Test
+    @DisplayName("SAN Leaves The Board Alone")
+    public void sanKeepsBoard() {
+        ChessGame game = ChessGame.fromFen("3r2k1/4PR2/6K1/8/8/8/8/8 w - - 0 1");
+        ChessBoard board = game.getBoard();
+        ChessBoard before = board.copy();
+        MoveNotation.toSan(game, MoveNotation.parseUci("e7d8q"));
+        Assertions.assertSame(board, game.getBoard());
+        Assertions.assertEquals(before, board);
+        Assertions.assertEquals(before.zobristKey(), board.zobristKey());
+        Assertions.assertEquals("3r2k1/4PR2/6K1/8/8/8/8/8 w - - 0 1", game.toFen());
+    }
+
+    @Test
+    @DisplayName("SAN En Passant")
+    public void enPassant() {
+        ChessGame game = ChessGame.fromFen("rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPP1PPP/RNBQKBNR w KQkq f6 0 3");
+        Assertions.assertEquals("exf6", MoveNotation.toSan(game, MoveNotation.parseUci("e5f6")));
+        Assertions.assertEquals(MoveNotation.parseUci("e5f6"), MoveNotation.parseSan(game, "exf6"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "+", "e5", "Ke2", "Nf4", "Zf3", "Nf3x", "O-O", "O-O-O-O", "e4=Q"})
+    @DisplayName("Invalid SAN")
+    public void invalidSan(String san) {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> MoveNotation.parseSan(new ChessGame(), san));
+    }
+}
@@ -0,0 +1,276 @@
+package chess;
+
+import passoff.chess.TestUtilities;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Perft (performance test) move-path enumeration. Counts every sequence of legal moves to a fixed depth
+ * using the same move generator and make/unmake code ChessGame uses, so the counts can be checked against
+ * published values and the timings used as a move generation benchmark.
+ * <p>
+ * Run main with a depth and optionally a FEN string (the starting position is used when it is left out).
+ * It prints the divide count for each root move, the total and the nodes per second:
+ * <pre>Perft 5 "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1"</pre>
+ * Put -p in front of the depth to search on every core with a shared PerftTable.
+ * <p>
+ * The ForkJoinPool overloads of count and divide split the tree into one task per move, and split those
+ * again until the remaining depth is SEQUENTIAL_DEPTH, so a root move with a much bigger subtree than the
+ * others still gets spread over the pool by work stealing
+ */
+public class Perft {
+
+    public static final String START_FEN = Fen.START;
+
+    // Subtrees this shallow are counted by one thread, anything deeper is split into a task per move
+    static final int SEQUENTIAL_DEPTH = 3;
+
+    private final ChessBoard board;
+    private ChessGame.TeamColor turn;
+    // Subtree counts shared with other searches, or null to count every subtree
+    private final PerftTable table;
+    // One move list per ply so the search never allocates, created the first time a ply is reached
+    private final MoveList[] lists = new MoveList[64];
+
+    public Perft(ChessBoard board, ChessGame.TeamColor turn) {
+        this(board, turn, null);
+    }
+
+    /**
+     * @param table memo of subtree counts to read and fill in, may be shared by several Perft objects and
+     *              threads. null turns memoization off
+     */
+    public Perft(ChessBoard board, ChessGame.TeamColor turn, PerftTable table) {
+        this.board = board;
+        this.turn = turn;
+        this.table = table;
+    }
+
+    /**
+     * @return a Perft for the same position and turn that uses the given table
+     */
+    public Perft withTable(PerftTable table) {
+        return new Perft(board.copy(), turn, table);
+    }
+
+    /**
+     * @param boardText board in the format TestUtilities.loadBoard reads
+     * @param turn      team to move first
+     */
+    public static Perft fromBoardText(String boardText, ChessGame.TeamColor turn) {
+        return new Perft(TestUtilities.loadBoard(boardText), turn);
+    }
+
+    public static Perft fromFen(String fen) {
+        ChessGame game = ChessGame.fromFen(fen);
+        return new Perft(game.getBoard(), game.getTeamTurn());
+    }
+
+    /**
+     * @return the number of leaf positions reached by playing every legal move sequence of the given length
+     */
+    public long count(int depth) {
+        return perft(depth, 0);
+    }
+
+    /**
+     * @return the leaf count below each legal move from the current position, keyed by the move in
+     * coordinate notation (e.g. e2e4, e7e8q), in generation order
+     * @throws IllegalArgumentException if depth is below 1, since there are no moves to divide by then
+     */
+    public Map<String, Long> divide(int depth) {
+        checkDivideDepth(depth);
+        Map<String, Long> counts = new LinkedHashMap<>();
+        MoveList moves = new MoveList();
+        generate(moves);
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            play(move);
+            counts.put(name(move), depth == 1 ? 1L : perft(depth - 1, 1));
+            takeBack();
+        }
+        return counts;
+    }
+
+    /**
+     * Same as count(depth), but split across the threads of a pool. This Perft's table is shared by every task
+     */
+    public long count(int depth, ForkJoinPool pool) {
+        return pool.invoke(new PerftTask(board.copy(), turn, depth, table));
+    }
+
+    /**
+     * Same as divide(depth), but split across the threads of a pool
+     */
+    public Map<String, Long> divide(int depth, ForkJoinPool pool) {
+        checkDivideDepth(depth);
+        MoveList moves = new MoveList();
+        generate(moves);
+        List<PerftTask> tasks = new ArrayList<>(moves.size());
+        for (int i = 0; i < moves.size(); i++) {
+            tasks.add(PerftTask.after(board, turn, moves.get(i), depth - 1, table));
+        }
+        pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (int i = 0; i < moves.size(); i++) {
+            counts.put(name(moves.get(i)), tasks.get(i).join());
+        }
+        return counts;
+    }
+
+    private long perft(int depth, int ply) {
+        if (depth == 0) {
+            return 1;
+        }
+        long key = 0;
+        if (table != null && depth > 1) { // Leaf counts are cheaper to generate than to look up
+            key = key();
+            long stored = table.get(key, depth);
+            if (stored >= 0) {
+                return stored;
+            }
+        }
+        MoveList moves = lists[ply];
+        if (moves == null) {
+            moves = lists[ply] = new MoveList();
+        }
+        moves.clear();
+        generate(moves);
+        if (depth == 1) { // Every legal move is a leaf, no need to play them
+            return moves.size();
+        }
+        long nodes = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            play(moves.get(i));
+            nodes += perft(depth - 1, ply + 1);
+            takeBack();
+        }
+        if (table != null) {
+            table.put(key, depth, nodes);
+        }
+        return nodes;
+    }
+
+    /**
+     * @return the board's Zobrist key with the side to move folded in, since the same pieces with the
+     * other side to move have a different subtree
+     */
+    private long key() {
+        return board.zobristKey() ^ (turn == ChessGame.TeamColor.BLACK ? Zobrist.BLACK_TO_MOVE : 0);
+    }
+
+    private void generate(MoveList moves) {
+        MoveGenerator.allLegalMoves(board, turn.ordinal(), moves);
+    }
+
+    private void play(int move) {
+        board.makeMove(move);
+        turn = turn == ChessGame.TeamColor.WHITE ? ChessGame.TeamColor.BLACK : ChessGame.TeamColor.WHITE;
+    }
+
+    private static void checkDivideDepth(int depth) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("Divide needs a depth of at least 1, not " + depth);
+        }
+    }
+
+    private void takeBack() {
+        board.unmakeMove();
+        turn = turn == ChessGame.TeamColor.WHITE ? ChessGame.TeamColor.BLACK : ChessGame.TeamColor.WHITE;
+    }
+
+    /**
+     * Counts the subtree below one position, on its own copy of the board
+     */
+    private static class PerftTask extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+
+        private final ChessBoard board;
+        private final ChessGame.TeamColor turn;
+        private final int depth;
+        private final PerftTable table;
+
+        PerftTask(ChessBoard board, ChessGame.TeamColor turn, int depth, PerftTable table) {
+            this.board = board;
+            this.turn = turn;
+            this.depth = depth;
+            this.table = table;
+        }
+
+        /**
+         * @return a task for the position after playing move on a copy of board
+         */
+        static PerftTask after(ChessBoard board, ChessGame.TeamColor turn, int move, int depth, PerftTable table) {
+            ChessBoard next = board.copy();
+            next.makeMove(move);
+            ChessGame.TeamColor other = turn == ChessGame.TeamColor.WHITE ? ChessGame.TeamColor.BLACK : ChessGame.TeamColor.WHITE;
+            return new PerftTask(next, other, depth, table);
+        }
+
+        @Override
+        protected Long compute() {
+            Perft perft = new Perft(board, turn, table);
+            if (depth <= SEQUENTIAL_DEPTH) {
+                return perft.count(depth);
+            }
+            long key = 0;
+            if (table != null) {
+                key = perft.key();
+                long stored = table.get(key, depth);
+                if (stored >= 0) {
+                    return stored;
+                }
+            }
+            MoveList moves = new MoveList();
+            perft.generate(moves);
+            List<PerftTask> tasks = new ArrayList<>(moves.size());
+            for (int i = 0; i < moves.size(); i++) {
+                tasks.add(after(board, turn, moves.get(i), depth - 1, table));
+            }
+            long nodes = 0;
+            for (PerftTask task : ForkJoinTask.invokeAll(tasks)) {
+                nodes += task.join();
+            }
+            if (table != null) {
+                table.put(key, depth, nodes);
+            }
+            return nodes;
+        }
+    }
+
+    static String name(int move) {
+        return MoveNotation.toUci(PackedMove.toChessMove(move));
+    }
+
+    public static void main(String[] args) {
+        boolean parallel = args.length > 0 && args[0].equals("-p");
+        if (parallel) {
+            args = Arrays.copyOfRange(args, 1, args.length);
+        }
+        int depth = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        String fen = args.length > 1 ? String.join(" ", Arrays.copyOfRange(args, 1, args.length)) : START_FEN;
+        Perft perft = fromFen(fen);
+
+        long start = System.nanoTime();
+        long total = 0;
+        Map<String, Long> divide = parallel
+                ? perft.withTable(new PerftTable(1 << 22)).divide(depth, ForkJoinPool.commonPool())
+                : perft.divide(depth);
+        for (Map.Entry<String, Long> entry : divide.entrySet()) {
+            System.out.println(entry.getKey() + ": " + entry.getValue());
+            total += entry.getValue();
+        }
+        long nanos = System.nanoTime() - start;
+        System.out.println();
+        System.out.println("Nodes: " + total);
+        System.out.printf("Time: %.3f s%n", nanos / 1e9);
+        System.out.printf("Nodes/second: %.0f%n", total / (nanos / 1e9));
+    }
+}
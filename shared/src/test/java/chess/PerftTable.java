@@ -0,0 +1,57 @@
+package chess;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size, lock-free memo of perft subtree counts keyed by position key and depth, safe to share
+ * between threads. Each entry is two longs: the data (count and depth) and the key XOR the data. Threads
+ * store and load the two words without locking, so a reader can see one word from one store and the other
+ * from another. Such a torn entry fails the XOR check and is treated as a miss, the same as an entry
+ * overwritten by a different position. New entries always replace old ones
+ */
+public class PerftTable {
+
+    private static final int DEPTH_BITS = 6;
+    private static final long DEPTH_MASK = (1L << DEPTH_BITS) - 1;
+
+    private final AtomicLongArray slots;
+    private final int mask;
+
+    /**
+     * @param entries number of entries, rounded down to a power of two. Each entry takes 16 bytes
+     */
+    public PerftTable(int entries) {
+        if (entries < 1) {
+            throw new IllegalArgumentException("Perft table needs at least one entry");
+        }
+        int size = Integer.highestOneBit(entries);
+        slots = new AtomicLongArray(size * 2);
+        mask = size - 1;
+    }
+
+    /**
+     * @return the stored count for the position and depth, or -1 if it isn't in the table
+     */
+    public long get(long key, int depth) {
+        int slot = index(key, depth);
+        long data = slots.getOpaque(slot + 1);
+        long check = slots.getOpaque(slot);
+        if ((check ^ data) != key || (data & DEPTH_MASK) != depth) {
+            return -1;
+        }
+        return data >>> DEPTH_BITS;
+    }
+
+    public void put(long key, int depth, long count) {
+        int slot = index(key, depth);
+        long data = (count << DEPTH_BITS) | depth;
+        slots.setOpaque(slot, key ^ data);
+        slots.setOpaque(slot + 1, data);
+    }
+
+    private int index(long key, int depth) {
+        // The same position shows up at many depths, so mix the depth in before picking an entry
+        long mixed = key ^ (depth * 0x9E3779B97F4A7C15L);
+        return (int) ((mixed ^ (mixed >>> 32)) & mask) * 2;
+    }
+}
@@ -0,0 +1,105 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Checks the move generator against published perft counts. Between them these positions cover
+ * castling, en passant (including discovered checks along a row), promotions, pins and checks
+ */
+public class PerftTests {
+
+    @Test
+    @DisplayName("Starting Position")
+    public void startingPosition() {
+        Perft perft = Perft.fromFen(Perft.START_FEN);
+        Assertions.assertEquals(20, perft.count(1));
+        Assertions.assertEquals(400, perft.count(2));
+        Assertions.assertEquals(8902, perft.count(3));
+        Assertions.assertEquals(197281, perft.count(4));
+    }
+
+    @Test
+    @DisplayName("Board Text Input")
+    public void boardText() {
+        Perft perft = Perft.fromBoardText("""
+                |r|n|b|q|k|b|n|r|
+                |p|p|p|p|p|p|p|p|
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                |P|P|P|P|P|P|P|P|
+                |R|N|B|Q|K|B|N|R|
+                """, ChessGame.TeamColor.WHITE);
+        Assertions.assertEquals(8902, perft.count(3));
+    }
+
+    @Test
+    @DisplayName("Kiwipete")
+    public void kiwipete() {
+        Perft perft = Perft.fromFen("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+        Assertions.assertEquals(48, perft.count(1));
+        Assertions.assertEquals(2039, perft.count(2));
+        Assertions.assertEquals(97862, perft.count(3));
+    }
+
+    @Test
+    @DisplayName("Rook Endgame")
+    public void rookEndgame() {
+        Assertions.assertEquals(674624, Perft.fromFen("8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1").count(5));
+    }
+
+    @Test
+    @DisplayName("Promotions and Checks")
+    public void promotionsAndChecks() {
+        Assertions.assertEquals(422333,
+                Perft.fromFen("r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1").count(4));
+        Assertions.assertEquals(62379,
+                Perft.fromFen("rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8").count(3));
+    }
+
+    @Test
+    @DisplayName("Middlegame")
+    public void middlegame() {
+        Assertions.assertEquals(89890,
+                Perft.fromFen("r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10").count(3));
+    }
+
+    @Test
+    @DisplayName("Divide Matches Count")
+    public void divide() {
+        Map<String, Long> divide = Perft.fromFen(Perft.START_FEN).divide(3);
+        Assertions.assertEquals(20, divide.size());
+        Assertions.assertEquals(600L, divide.get("e2e4"));
+        Assertions.assertEquals(8902L, divide.values().stream().mapToLong(Long::longValue).sum());
+        Assertions.assertEquals(1L, Perft.fromFen(Perft.START_FEN).divide(1).get("e2e4"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Perft.fromFen(Perft.START_FEN).divide(0));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> Perft.fromFen(Perft.START_FEN).divide(0, ForkJoinPool.commonPool()));
+    }
+
+    @Test
+    @DisplayName("Parallel Count Matches")
+    public void parallel() {
+        Perft perft = Perft.fromFen("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+        Assertions.assertEquals(97862, perft.count(3, ForkJoinPool.commonPool()));
+        Assertions.assertEquals(4085603, perft.withTable(new PerftTable(1 << 16)).count(4, ForkJoinPool.commonPool()));
+        Assertions.assertEquals(4865609, Perft.fromFen(Perft.START_FEN).withTable(new PerftTable(1 << 16))
+                .count(5, ForkJoinPool.commonPool()));
+    }
+
+    @Test
+    @DisplayName("Parallel Divide Matches")
+    public void parallelDivide() {
+        Map<String, Long> divide = Perft.fromFen(Perft.START_FEN).withTable(new PerftTable(1 << 12))
+                .divide(5, ForkJoinPool.commonPool());
+        Assertions.assertEquals(20, divide.size());
+        Assertions.assertEquals(405385L, divide.get("e2e4"));
+        Assertions.assertEquals(4865609L, divide.values().stream().mapToLong(Long::longValue).sum());
+    }
+}
@@ -0,0 +1,34 @@
+package chess;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Helpers shared by the tests for playing and comparing moves written in UCI notation
+ */
+final class TestMoves {
+
+    private TestMoves() {
+    }
+
+    /**
+     * Plays each move in order with makeMove
+     */
+    static void play(ChessGame game, String... moves) throws InvalidMoveException {
+        for (String move : moves) {
+            game.makeMove(MoveNotation.parseUci(move));
+        }
+    }
+
+    /**
+     * @return the moves in UCI notation, so a test can compare them regardless of order
+     */
+    static Set<String> uci(Collection<ChessMove> moves) {
+        Set<String> names = new HashSet<>();
+        for (ChessMove move : moves) {
+            names.add(MoveNotation.toUci(move));
+        }
+        return names;
+    }
+}